@@ -0,0 +1,115 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.config.DatabaseProperties.StorageEngine;
+import com.gapsi.ecommerce.model.Provider;
+import com.gapsi.ecommerce.repository.H2ProviderRepository;
+import com.gapsi.ecommerce.repository.InMemoryProviderRepository;
+import com.gapsi.ecommerce.repository.JsonDatabase;
+import com.gapsi.ecommerce.repository.MappedFileDatabase;
+import com.gapsi.ecommerce.repository.ProviderRepository;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks
+ * Genera un bd.json temporal con proveedores de nombre, razón social y dirección variados.
+ */
+final class BenchmarkData {
+
+    private static final String[] PREFIXES = {"Ferretería", "Distribuidora", "Abarrotes", "Textiles", "Aceros", "Papelería"};
+    private static final String[] CITIES = {"Monterrey", "Guadalajara", "Puebla", "León", "Querétaro", "Mérida"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Proveedor sintético determinista para el índice dado
+     */
+    static Provider provider(long index) {
+        return Provider.builder()
+                .id(index)
+                .name(PREFIXES[(int) (index % PREFIXES.length)] + " " + CITIES[(int) (index / 7 % CITIES.length)] + " " + index)
+                .companyName("Grupo " + PREFIXES[(int) (index / 3 % PREFIXES.length)] + " " + index + " S.A. de C.V.")
+                .address("Av. Juárez " + (index % 999 + 1) + ", Col. Centro, " + CITIES[(int) (index % CITIES.length)])
+                .build();
+    }
+
+    static List<Provider> providers(int size) {
+        List<Provider> providers = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            providers.add(provider(i));
+        }
+        return providers;
+    }
+
+    /**
+     * Escribe un bd.json con {@code size} proveedores en un directorio temporal
+     *
+     * @return Configuración de base de datos que apunta al archivo generado
+     */
+    static DatabaseProperties createDatabase(int size, PersistenceMode mode) {
+        try {
+            Path directory = Files.createTempDirectory("gapsi-bench");
+            Path file = directory.resolve("bd.json");
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                new Gson().toJson(providers(size), writer);
+            }
+
+            DatabaseProperties properties = new DatabaseProperties();
+            properties.setFilePath(file.toString());
+            properties.setPersistenceMode(mode);
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Abre el repositorio del motor dado sobre el bd.json generado por {@link #createDatabase}.
+     * Los motores mapped y h2 lo migran al abrirse; el motor en memoria se precarga con los mismos datos.
+     */
+    static ProviderRepository openRepository(DatabaseProperties properties, StorageEngine engine) {
+        properties.setEngine(engine);
+        return switch (engine) {
+            case JSON -> new JsonDatabase(properties);
+            case MAPPED -> new MappedFileDatabase(properties);
+            case H2 -> new H2ProviderRepository(properties);
+            case MEMORY -> {
+                InMemoryProviderRepository repository = new InMemoryProviderRepository();
+                JsonDatabase source = new JsonDatabase(properties);
+                try (Stream<Provider> providers = source.streamAll()) {
+                    repository.insertAllIfAbsent(providers.toList());
+                } finally {
+                    source.close();
+                }
+                yield repository;
+            }
+        };
+    }
+
+    /**
+     * Elimina el directorio temporal creado por {@link #createDatabase}
+     */
+    static void deleteDatabase(DatabaseProperties properties) {
+        Path directory = Path.of(properties.getFilePath()).getParent();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.model.Provider;
+import com.gapsi.ecommerce.repository.JsonDatabase;
+import com.gapsi.ecommerce.repository.ProviderSearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de JsonDatabase: lecturas (findAll, findById, search) y escritura (save)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class JsonDatabaseBenchmark {
+
+    /**
+     * Base de datos precargada para las lecturas
+     */
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        @Param({"1000", "100000", "1000000"})
+        int size;
+
+        DatabaseProperties properties;
+        JsonDatabase database;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            properties = BenchmarkData.createDatabase(size, PersistenceMode.SNAPSHOT);
+            database = new JsonDatabase(properties);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            database.close();
+            BenchmarkData.deleteDatabase(properties);
+        }
+    }
+
+    /**
+     * Base de datos para las escrituras; cada save incluye la persistencia del modo configurado
+     */
+    @State(Scope.Benchmark)
+    public static class WriteState {
+
+        @Param({"1000", "100000"})
+        int size;
+
+        @Param({"JOURNAL", "SNAPSHOT"})
+        PersistenceMode mode;
+
+        DatabaseProperties properties;
+        JsonDatabase database;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            properties = BenchmarkData.createDatabase(size, mode);
+            database = new JsonDatabase(properties);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            database.close();
+            BenchmarkData.deleteDatabase(properties);
+        }
+    }
+
+    @Benchmark
+    public List<Provider> findAll(ReadState state) {
+        return state.database.findAll();
+    }
+
+    @Benchmark
+    public Optional<Provider> findById(ReadState state) {
+        return state.database.findById(ThreadLocalRandom.current().nextLong(1, state.size + 1L));
+    }
+
+    @Benchmark
+    public ProviderSearchResult search(ReadState state) {
+        return state.database.search("ferre monterrey", 0, 20);
+    }
+
+    @Benchmark
+    public Provider save(WriteState state) {
+        // save asigna un ID nuevo; el índice solo varía el contenido
+        return state.database.save(BenchmarkData.provider(ThreadLocalRandom.current().nextLong(1, state.size + 1L)));
+    }
+}
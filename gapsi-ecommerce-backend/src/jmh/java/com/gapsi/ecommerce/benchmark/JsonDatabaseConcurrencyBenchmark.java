@@ -0,0 +1,81 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.model.Provider;
+import com.gapsi.ecommerce.repository.JsonDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de concurrencia de JsonDatabase: lectores y escritores simultáneos sobre IDs aleatorios.
+ * Mide el throughput de cada rol y cuánto afectan las escrituras a las lecturas.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class JsonDatabaseConcurrencyBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    private DatabaseProperties properties;
+    private JsonDatabase database;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = BenchmarkData.createDatabase(size, PersistenceMode.JOURNAL);
+        database = new JsonDatabase(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+        BenchmarkData.deleteDatabase(properties);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(4)
+    public Optional<Provider> reader() {
+        return database.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(4)
+    public Provider writer() {
+        return database.update(BenchmarkData.provider(randomId()));
+    }
+
+    @Benchmark
+    @Group("writeOnly")
+    @GroupThreads(8)
+    public Provider concurrentWriter() {
+        return database.update(BenchmarkData.provider(randomId()));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1L);
+    }
+}
@@ -0,0 +1,133 @@
+package com.gapsi.ecommerce.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.mapper.ProviderMapper;
+import com.gapsi.ecommerce.repository.JsonDatabase;
+import com.gapsi.ecommerce.service.ProviderServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del logging en la ruta de una petición con muchos hilos concurrentes:
+ * ProviderServiceImpl.findAllPaginated con los mensajes de la ruta caliente emitidos
+ * (level=DEBUG, equivalente a los INFO anteriores) o suprimidos (level=INFO, configuración actual),
+ * escritos por un appender síncrono o por el appender asíncrono de logback-spring.xml.
+ * Los eventos van a un archivo temporal, con una escritura por evento como la consola.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@Threads(8)
+public class LoggingBenchmark {
+
+    public enum Pipeline {
+        SYNC,
+        ASYNC
+    }
+
+    private static final int SIZE = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"SYNC", "ASYNC"})
+    Pipeline pipeline;
+
+    @Param({"DEBUG", "INFO"})
+    String level;
+
+    private DatabaseProperties properties;
+    private JsonDatabase database;
+    private ValidatorFactory validatorFactory;
+    private ProviderServiceImpl service;
+    private int pages;
+    private Path logFile;
+    private Logger appLogger;
+
+    @Setup
+    public void setUp() throws IOException {
+        properties = BenchmarkData.createDatabase(SIZE, PersistenceMode.SNAPSHOT);
+        database = new JsonDatabase(properties);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new ProviderServiceImpl(database, new ProviderMapper(), validatorFactory.getValidator());
+        pages = SIZE / PAGE_SIZE;
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (pipeline == Pipeline.ASYNC) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        appLogger = context.getLogger("com.gapsi.ecommerce");
+        appLogger.setLevel(Level.toLevel(level));
+        appLogger.setAdditive(false);
+        appLogger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        appLogger.detachAndStopAllAppenders();
+        appLogger.setLevel(null);
+        appLogger.setAdditive(true);
+        Files.deleteIfExists(logFile);
+        validatorFactory.close();
+        database.close();
+        BenchmarkData.deleteDatabase(properties);
+    }
+
+    @Benchmark
+    public PagedProviderResponse findAllPaginated() {
+        return service.findAllPaginated(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.gapsi.ecommerce.dto.ProviderResponseDto;
+import com.gapsi.ecommerce.mapper.ProviderMapper;
+import com.gapsi.ecommerce.model.Provider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de ProviderMapper.toDto
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderMapperBenchmark {
+
+    private final ProviderMapper mapper = new ProviderMapper();
+    private final Provider provider = BenchmarkData.provider(4242);
+
+    @Benchmark
+    public ProviderResponseDto toDto() {
+        return mapper.toDto(provider);
+    }
+}
@@ -0,0 +1,103 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.config.DatabaseProperties.StorageEngine;
+import com.gapsi.ecommerce.model.Provider;
+import com.gapsi.ecommerce.repository.ProviderRepository;
+import com.gapsi.ecommerce.repository.ProviderSearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mismas cargas de trabajo sobre cada motor de ProviderRepository (database.engine):
+ * lecturas por ID, páginas por offset y por keyset, búsqueda, alta y modificación
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProviderRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"JSON", "MAPPED", "MEMORY", "H2"})
+    StorageEngine engine;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private DatabaseProperties properties;
+    private ProviderRepository repository;
+    private final AtomicLong nextName = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = BenchmarkData.createDatabase(size, PersistenceMode.JOURNAL);
+        repository = BenchmarkData.openRepository(properties, engine);
+        nextName.set(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.close();
+        BenchmarkData.deleteDatabase(properties);
+    }
+
+    @Benchmark
+    public Optional<Provider> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Provider> findAllPage() {
+        List<Provider> all = repository.findAll();
+        int start = ThreadLocalRandom.current().nextInt(Math.max(1, all.size() - PAGE_SIZE));
+        return List.copyOf(all.subList(start, Math.min(start + PAGE_SIZE, all.size())));
+    }
+
+    @Benchmark
+    public List<Provider> findAfter() {
+        return repository.findAfter(randomId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProviderSearchResult search() {
+        return repository.search("ferre monterrey", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Optional<Provider> insertIfAbsent() {
+        Provider provider = BenchmarkData.provider(nextName.incrementAndGet());
+        provider.setId(null);
+        return repository.insertIfAbsent(provider);
+    }
+
+    @Benchmark
+    public Provider update() {
+        return repository.update(BenchmarkData.provider(randomId()));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1L);
+    }
+}
@@ -0,0 +1,71 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.mapper.ProviderMapper;
+import com.gapsi.ecommerce.repository.JsonDatabase;
+import com.gapsi.ecommerce.service.ProviderServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de ProviderServiceImpl.findAllPaginated sobre páginas aleatorias del conjunto
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProviderServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    private DatabaseProperties properties;
+    private JsonDatabase database;
+    private ValidatorFactory validatorFactory;
+    private ProviderServiceImpl service;
+    private int pages;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = BenchmarkData.createDatabase(size, PersistenceMode.SNAPSHOT);
+        database = new JsonDatabase(properties);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new ProviderServiceImpl(database, new ProviderMapper(), validatorFactory.getValidator());
+        pages = (size + pageSize - 1) / pageSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+        database.close();
+        BenchmarkData.deleteDatabase(properties);
+    }
+
+    @Benchmark
+    public PagedProviderResponse findAllPaginated() {
+        return service.findAllPaginated(ThreadLocalRandom.current().nextInt(pages), pageSize);
+    }
+}
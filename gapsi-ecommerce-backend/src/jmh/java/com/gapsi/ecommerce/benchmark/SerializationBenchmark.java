@@ -0,0 +1,78 @@
+package com.gapsi.ecommerce.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gapsi.ecommerce.dto.ApiResponse;
+import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.mapper.ProviderMapper;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de serialización de ApiResponse&lt;PagedProviderResponse&gt; con Gson y con Jackson
+ * (configurado igual que el ObjectMapper que Spring usa para las respuestas HTTP)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    int pageSize;
+
+    private ApiResponse<PagedProviderResponse> response;
+    private Gson gson;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        ProviderMapper mapper = new ProviderMapper();
+        PagedProviderResponse page = PagedProviderResponse.builder()
+                .items(BenchmarkData.providers(pageSize).stream().map(mapper::toDto).toList())
+                .totalItems(1_000_000)
+                .totalPages(1_000_000 / pageSize)
+                .currentPage(0)
+                .pageSize(pageSize)
+                .hasNext(true)
+                .isFirst(true)
+                .build();
+        response = ApiResponse.success("Proveedores obtenidos exitosamente", page);
+
+        gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class,
+                        (JsonSerializer<LocalDateTime>) (value, type, context) -> new JsonPrimitive(value.toString()))
+                .create();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] gson() {
+        return gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,126 @@
+package com.gapsi.ecommerce.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gapsi.ecommerce.config.PageCacheProperties;
+import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * Caché de páginas de proveedores en forma serializada (JSON en bytes)
+ * La llave es (page, size, lean) y cada página guarda la versión de los datos con la que se
+ * calculó: una página de otra versión nunca se sirve, se reemplaza al pedirla. Con paginación
+ * por offset cualquier cambio afecta a todas las páginas (totalItems), pero la caché no se vacía
+ * completa al cambiar la versión: peticiones concurrentes con versiones distintas solo compiten
+ * por sus propias páginas, y el reemplazo en la misma llave conserva su frecuencia para W-TinyLFU.
+ * Caffeine aplica la política W-TinyLFU con un presupuesto de memoria en bytes.
+ * En modo ligero (lean) se omiten los indicadores hasNext, hasPrevious, first y last, que el
+ * cliente puede derivar de currentPage y totalPages.
+ * Métricas: cache.gets (hit/miss), cache.evictions, cache.size y cache.weight con cache=providerPages.
+ */
+@Component
+public class ProviderPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderPageCache.class);
+
+    private static final String CACHE_NAME = "providerPages";
+
+    /**
+     * Costo aproximado en memoria de una entrada, además de los bytes de la página
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private record PageKey(int page, int size, boolean lean) {
+    }
+
+    /**
+     * Página serializada con la versión de los datos con la que se calculó
+     */
+    private record CachedPage(String version, byte[] json) {
+    }
+
+    @JsonIgnoreProperties({"hasNext", "hasPrevious", "first", "last"})
+    private abstract static class LeanPage {
+    }
+
+    private final Cache<PageKey, CachedPage> cache;
+    private final ObjectWriter writer;
+    private final ObjectWriter leanWriter;
+
+    public ProviderPageCache(PageCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.writer = objectMapper.writerFor(PagedProviderResponse.class);
+        this.leanWriter = objectMapper.copy()
+                .addMixIn(PagedProviderResponse.class, LeanPage.class)
+                .writerFor(PagedProviderResponse.class);
+
+        if (!properties.isEnabled()) {
+            this.cache = null;
+            logger.info("Caché de páginas de proveedores deshabilitada");
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((PageKey key, CachedPage cached) -> cached.json().length + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.weight", cache, c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .tag("cache", CACHE_NAME)
+                .description("Memoria ocupada por las páginas en caché")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        logger.info("Caché de páginas de proveedores: máximo {}", properties.getMaxSize());
+    }
+
+    /**
+     * Retorna el JSON de una página, calculándola y serializándola solo si no está en caché
+     *
+     * @param page    Número de página
+     * @param size    Tamaño de página
+     * @param lean    Omite los indicadores de navegación derivables
+     * @param version Versión de los datos leída antes de calcular la página
+     * @param loader  Calcula la página en caso de fallo
+     * @return JSON de la página en UTF-8
+     */
+    public byte[] get(int page, int size, boolean lean, String version, Supplier<PagedProviderResponse> loader) {
+        ObjectWriter pageWriter = lean ? leanWriter : writer;
+        if (cache == null) {
+            return serialize(pageWriter, loader.get());
+        }
+
+        PageKey key = new PageKey(page, size, lean);
+        CachedPage stale = cache.policy().getIfPresentQuietly(key);
+        if (stale != null && !stale.version().equals(version)) {
+            // Solo se descarta esta página; el fallo siguiente se registra en las métricas
+            cache.asMap().remove(key, stale);
+        }
+
+        CachedPage cached = cache.get(key, k -> new CachedPage(version, serialize(pageWriter, loader.get())));
+        if (!cached.version().equals(version)) {
+            // Una petición concurrente con otra versión cargó la página: se calcula sin caché
+            return serialize(pageWriter, loader.get());
+        }
+        return cached.json();
+    }
+
+    private static byte[] serialize(ObjectWriter pageWriter, PagedProviderResponse response) {
+        try {
+            return pageWriter.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
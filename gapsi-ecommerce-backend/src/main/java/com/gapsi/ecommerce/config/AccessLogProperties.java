@@ -0,0 +1,32 @@
+package com.gapsi.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración del log de acceso
+ * Propiedades con prefijo "access-log" en application.yml
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    /**
+     * Habilita el log de acceso
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fracción de las peticiones que se registran (0.0 a 1.0)
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Las peticiones que tardan al menos este tiempo se registran siempre
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,125 @@
+package com.gapsi.ecommerce.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Compresión de las respuestas JSON
+ * Tomcat solo respeta server.compression.min-response-size si la respuesta tiene Content-Length,
+ * y el conversor JSON de Spring escribe en streaming sin él, por lo que comprimía incluso respuestas
+ * de unos cientos de bytes. Este conversor retiene la respuesta hasta ese tamaño: si termina antes,
+ * la envía con Content-Length (y Tomcat no la comprime); si lo supera, continúa en streaming comprimida.
+ * La exportación NDJSON no pasa por el conversor y siempre se comprime.
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        int bufferSize = compression.getEnabled() ? (int) compression.getMinResponseSize().toBytes() : 0;
+        return new SizedJsonHttpMessageConverter(objectMapper, bufferSize);
+    }
+
+    /**
+     * Conversor JSON que envía Content-Length en las respuestas menores a "bufferSize" bytes
+     */
+    static class SizedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        private final int bufferSize;
+
+        SizedJsonHttpMessageConverter(ObjectMapper objectMapper, int bufferSize) {
+            super(objectMapper);
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            if (bufferSize <= 0 || outputMessage.getHeaders().getContentLength() >= 0) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+
+            BoundedBody body = new BoundedBody(outputMessage, bufferSize);
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            body.finish();
+        }
+    }
+
+    /**
+     * Cuerpo que se retiene en memoria hasta "limit" bytes. Al superarlo, envía lo retenido
+     * (sin Content-Length) y escribe el resto directamente en la respuesta.
+     */
+    private static final class BoundedBody extends OutputStream {
+
+        private final HttpOutputMessage outputMessage;
+        private final int limit;
+        private ByteArrayOutputStream buffer;
+        private OutputStream target;
+
+        private BoundedBody(HttpOutputMessage outputMessage, int limit) {
+            this.outputMessage = outputMessage;
+            this.limit = limit;
+            this.buffer = new ByteArrayOutputStream(Math.min(limit, 1024));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null && buffer.size() + length > limit) {
+                target = outputMessage.getBody();
+                buffer.writeTo(target);
+                buffer = null;
+            }
+            if (target != null) {
+                target.write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Retenido: enviar antes de terminar confirmaría la respuesta sin Content-Length
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        /**
+         * Envía la respuesta retenida con su Content-Length
+         */
+        private void finish() throws IOException {
+            if (target == null) {
+                outputMessage.getHeaders().setContentLength(buffer.size());
+                buffer.writeTo(outputMessage.getBody());
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.gapsi.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la base de datos JSON de proveedores
+ * Propiedades con prefijo "database" en application.yml
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "database")
+public class DatabaseProperties {
+
+    /**
+     * Motores de almacenamiento soportados
+     */
+    public enum StorageEngine {
+        /**
+         * Archivo bd.json (Gson) con los proveedores en memoria
+         */
+        JSON,
+        /**
+         * Archivo binario de registros mapeado en memoria (bd.dat)
+         */
+        MAPPED,
+        /**
+         * Solo en memoria, sin persistencia (pruebas y benchmarks)
+         */
+        MEMORY,
+        /**
+         * Base de datos H2 embebida en archivo (bd.mv.db) con índices por ID y nombre
+         */
+        H2
+    }
+
+    /**
+     * Modos de persistencia soportados por el motor JSON
+     */
+    public enum PersistenceMode {
+        /**
+         * Reescribe el archivo bd.json completo en cada mutación
+         */
+        SNAPSHOT,
+        /**
+         * Agrega cada mutación a un journal y compacta periódicamente en bd.json
+         */
+        JOURNAL
+    }
+
+    /**
+     * Motor de almacenamiento de los proveedores
+     */
+    private StorageEngine engine = StorageEngine.JSON;
+
+    /**
+     * Ruta del archivo bd.json. Si está vacía se resuelve a partir del directorio de trabajo.
+     */
+    private String filePath;
+
+    /**
+     * Modo de persistencia de las mutaciones (solo aplica al motor JSON)
+     */
+    private PersistenceMode persistenceMode = PersistenceMode.SNAPSHOT;
+
+    /**
+     * Configuración del journal (solo aplica en modo JOURNAL)
+     */
+    private Journal journal = new Journal();
+
+    /**
+     * Configuración del group commit de las escrituras
+     */
+    private GroupCommit groupCommit = new GroupCommit();
+
+    /**
+     * Configuración de la carga de bd.json al iniciar (solo aplica al motor JSON)
+     */
+    private Load load = new Load();
+
+    /**
+     * Configuración del motor MAPPED
+     */
+    private Mapped mapped = new Mapped();
+
+    /**
+     * Configuración del motor H2
+     */
+    private H2 h2 = new H2();
+
+    /**
+     * Retorna la ruta de bd.json: la configurada o, si está vacía, la del directorio del proyecto
+     *
+     * @return Ruta del archivo bd.json
+     */
+    public String resolveFilePath() {
+        if (filePath != null && !filePath.isBlank()) {
+            return filePath;
+        }
+
+        // Obtener la ruta del directorio del proyecto
+        String userDir = System.getProperty("user.dir");
+
+        // Si estamos en el directorio raíz del proyecto, agregar el subdirectorio backend
+        if (userDir.endsWith("gapsi-ecommerce")) {
+            return userDir + "/gapsi-ecommerce-backend/bd.json";
+        } else if (userDir.endsWith("gapsi-ecommerce-backend")) {
+            return userDir + "/bd.json";
+        }
+        // Fallback: usar ruta relativa
+        return "bd.json";
+    }
+
+    @Data
+    public static class Journal {
+
+        /**
+         * Número de registros en el journal que dispara la compactación en bd.json
+         */
+        private int compactionThreshold = 1000;
+    }
+
+    @Data
+    public static class GroupCommit {
+
+        /**
+         * Máximo de escrituras pendientes que se persisten juntas en un lote
+         */
+        private int maxBatchSize = 1000;
+
+        /**
+         * Tiempo que se espera a más escrituras antes de persistir un lote.
+         * Con cero el lote agrupa solo las escrituras que llegaron durante la persistencia anterior.
+         */
+        private Duration batchWindow = Duration.ZERO;
+    }
+
+    @Data
+    public static class Load {
+
+        /**
+         * Hilos con los que se interpreta bd.json y se construyen los índices al iniciar.
+         * Con cero se usa uno por núcleo disponible; con uno la carga es secuencial.
+         */
+        private int parallelism = 0;
+
+        /**
+         * Tamaño mínimo de cada fragmento de bd.json que se interpreta en paralelo.
+         * Un archivo menor al doble de este tamaño se interpreta en un solo hilo.
+         */
+        private DataSize minChunkSize = DataSize.ofMegabytes(4);
+
+        /**
+         * Retorna el número de hilos de la carga: el configurado o, si es cero, uno por núcleo
+         *
+         * @return Número de hilos (al menos uno)
+         */
+        public int resolveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    @Data
+    public static class Mapped {
+
+        /**
+         * Ruta del archivo binario. Si está vacía se usa la de bd.json con extensión .dat
+         */
+        private String filePath;
+
+        /**
+         * Tamaño inicial del mapeo en bytes; el archivo crece al doble cuando se llena
+         */
+        private int initialSize = 1024 * 1024;
+    }
+
+    @Data
+    public static class H2 {
+
+        /**
+         * URL JDBC. Si está vacía se usa un archivo junto a bd.json (bd.mv.db)
+         */
+        private String url;
+
+        /**
+         * Máximo de conexiones del pool
+         */
+        private int maxConnections = 10;
+    }
+}
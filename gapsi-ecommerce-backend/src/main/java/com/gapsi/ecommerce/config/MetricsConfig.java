@@ -0,0 +1,24 @@
+package com.gapsi.ecommerce.config;
+
+import com.gapsi.ecommerce.repository.ProviderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métricas de la aplicación comunes a todos los motores de almacenamiento
+ * Se exponen en /actuator/metrics y, en formato Prometheus, en /actuator/prometheus.
+ * La latencia por endpoint (http.server.requests) la registra Spring Boot; sus percentiles
+ * e histogramas se configuran en management.metrics.distribution (application.yml).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder providerCountMetrics(ProviderRepository providerRepository) {
+        return registry -> Gauge.builder("providers.count", providerRepository, ProviderRepository::count)
+                .description("Número de proveedores almacenados")
+                .register(registry);
+    }
+}
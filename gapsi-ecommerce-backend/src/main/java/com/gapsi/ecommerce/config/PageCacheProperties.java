@@ -0,0 +1,26 @@
+package com.gapsi.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuración de la caché de páginas de proveedores
+ * Propiedades con prefijo "cache.provider-pages" en application.yml
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.provider-pages")
+public class PageCacheProperties {
+
+    /**
+     * Habilita la caché; si está deshabilitada cada página se calcula y serializa en cada petición
+     */
+    private boolean enabled = true;
+
+    /**
+     * Memoria máxima que ocupan las páginas serializadas
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+}
@@ -0,0 +1,34 @@
+package com.gapsi.ecommerce.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modo de ejecución de las peticiones
+ * Con spring.threads.virtual.enabled=true, Spring Boot atiende cada petición (y las respuestas
+ * asíncronas como la exportación NDJSON) en un hilo virtual en lugar del pool acotado de Tomcat.
+ * Requiere Java 21+; en versiones anteriores la propiedad se ignora y se usa el pool de plataforma.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+                                @Value("${server.tomcat.threads.max:200}") int maxThreads) {
+        int javaVersion = Runtime.version().feature();
+
+        if (!virtualThreadsEnabled) {
+            logger.info("Modo de ejecución: pool de hilos de plataforma de Tomcat (máximo {} hilos)", maxThreads);
+        } else if (javaVersion < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+            logger.warn("Los hilos virtuales requieren Java {}+ (actual: Java {}). Se usa el pool de hilos de plataforma de Tomcat (máximo {} hilos)",
+                    VIRTUAL_THREADS_MIN_JAVA_VERSION, javaVersion, maxThreads);
+        } else {
+            logger.info("Modo de ejecución: hilos virtuales (Java {})", javaVersion);
+        }
+    }
+}
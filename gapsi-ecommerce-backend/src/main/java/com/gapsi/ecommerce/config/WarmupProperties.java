@@ -0,0 +1,38 @@
+package com.gapsi.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuración del calentamiento al iniciar
+ * Propiedades con prefijo "warmup" en application.yml
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    /**
+     * Habilita el calentamiento; deshabilitado, la aplicación reporta readiness en cuanto arranca
+     */
+    private boolean enabled = true;
+
+    /**
+     * Veces que se recorre cada endpoint de lectura
+     */
+    private int iterations = 20;
+
+    /**
+     * Tiempo máximo de espera por cada petición de calentamiento
+     */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Termina la aplicación al completar el calentamiento. Se usa en la ejecución de
+     * entrenamiento del archivo CDS (perfil aot): la JVM escribe el archivo al terminar.
+     */
+    private boolean exitOnCompletion = false;
+}
@@ -1,9 +1,23 @@
 package com.gapsi.ecommerce.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.gapsi.ecommerce.cache.ProviderPageCache;
 import com.gapsi.ecommerce.dto.ApiResponse;
+import com.gapsi.ecommerce.dto.BulkDeleteRequest;
+import com.gapsi.ecommerce.dto.BulkDeleteResponse;
+import com.gapsi.ecommerce.dto.BulkImportResponse;
+import com.gapsi.ecommerce.dto.CursorProviderResponse;
 import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.dto.ProviderBatchGetRequest;
+import com.gapsi.ecommerce.dto.ProviderBatchGetResponse;
 import com.gapsi.ecommerce.dto.ProviderRequestDto;
 import com.gapsi.ecommerce.dto.ProviderResponseDto;
+import com.gapsi.ecommerce.exceptions.InvalidProviderException;
 import com.gapsi.ecommerce.service.ProviderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +28,25 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Controlador REST para gestión de proveedores
@@ -30,16 +60,28 @@ public class ProviderController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProviderController.class);
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    /**
+     * Cada cuántos proveedores se envía el buffer al cliente durante la exportación
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
     private final ProviderService providerService;
+    private final ProviderPageCache providerPageCache;
+    private final ObjectMapper objectMapper;
 
-    public ProviderController(ProviderService providerService) {
+    public ProviderController(ProviderService providerService, ProviderPageCache providerPageCache, ObjectMapper objectMapper) {
         this.providerService = providerService;
+        this.providerPageCache = providerPageCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Obtiene lista paginada de proveedores
      * GET /api/v1/providers?page=0&size=10
-     * Optimizado para virtual scroll en React
+     * Optimizado para virtual scroll en React; las páginas se sirven desde la caché serializada.
+     * Con lean=true se omiten hasNext, hasPrevious, first y last (clientes de alto volumen).
      */
     @GetMapping
     @Operation(
@@ -51,30 +93,287 @@ public class ProviderController {
                     responseCode = "200",
                     description = "Lista de proveedores obtenida exitosamente",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Sin cambios desde el ETag enviado en If-None-Match"
             )
     })
-    public ResponseEntity<ApiResponse<PagedProviderResponse>> getAllProviders(
+    public ResponseEntity<ApiResponse<RawValue>> getAllProviders(
             @Parameter(description = "Número de página (inicia en 0)", example = "0")
             @RequestParam(defaultValue = "0") int page,
 
             @Parameter(description = "Tamaño de página", example = "10")
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+
+            @Parameter(description = "Omite los indicadores hasNext, hasPrevious, first y last", example = "false")
+            @RequestParam(defaultValue = "false") boolean lean,
+
+            WebRequest webRequest
     ) {
-        logger.info("GET /api/v1/providers - page: {}, size: {}", page, size);
+        logger.debug("GET /api/v1/providers - page: {}, size: {}, lean: {}", page, size, lean);
 
-        PagedProviderResponse pagedResponse = providerService.findAllPaginated(page, size);
+        String dataVersion = providerService.getDataVersion();
+        if (webRequest.checkNotModified(weakETag(dataVersion))) {
+            return null;
+        }
 
-        ApiResponse<PagedProviderResponse> response = ApiResponse.success(
+        byte[] pagedResponse = providerPageCache.get(page, size, lean, dataVersion,
+                () -> providerService.findAllPaginated(page, size));
+
+        ApiResponse<RawValue> response = ApiResponse.success(
                 "Proveedores obtenidos exitosamente",
+                new RawValue(new String(pagedResponse, StandardCharsets.UTF_8))
+        );
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Busca proveedores por texto o prefijo (type-ahead)
+     * GET /api/v1/providers/search?q=prov&page=0&size=10
+     */
+    @GetMapping("/search")
+    @Operation(
+            summary = "Buscar proveedores",
+            description = "Busca en nombre, empresa y dirección. Cada palabra se trata como prefijo y deben coincidir todas. Los resultados se ordenan por relevancia (nombre > empresa > dirección, coincidencia exacta > prefijo). " +
+                    "El total de resultados es exacto. Las palabras de un solo carácter se ignoran (una consulta solo con ellas " +
+                    "no retorna resultados) y se consideran las primeras 8 palabras."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Resultados obtenidos exitosamente",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Sin cambios desde el ETag enviado en If-None-Match"
+            )
+    })
+    public ResponseEntity<ApiResponse<PagedProviderResponse>> searchProviders(
+            @Parameter(description = "Texto de búsqueda", example = "prov cen")
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Número de página (inicia en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Tamaño de página", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+
+            WebRequest webRequest
+    ) {
+        logger.debug("GET /api/v1/providers/search - q: {}, page: {}, size: {}", query, page, size);
+
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+
+        PagedProviderResponse pagedResponse = providerService.search(query, page, size);
+
+        ApiResponse<PagedProviderResponse> response = ApiResponse.success(
+                "Búsqueda realizada exitosamente",
                 pagedResponse
         );
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Obtiene una página de proveedores por cursor (keyset)
+     * GET /api/v1/providers?after=10&limit=50
+     * Costo O(limit) sin importar la profundidad; estable ante inserciones y eliminaciones
+     */
+    @GetMapping(params = "limit")
+    @Operation(
+            summary = "Obtener proveedores por cursor",
+            description = "Retorna hasta 'limit' proveedores con ID mayor a 'after', ordenados por ID. Usar 'nextCursor' de la respuesta como 'after' de la siguiente petición."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Página de proveedores obtenida exitosamente",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Sin cambios desde el ETag enviado en If-None-Match"
+            )
+    })
+    public ResponseEntity<ApiResponse<CursorProviderResponse>> getProvidersByCursor(
+            @Parameter(description = "Último ID recibido (omitir para la primera página)", example = "10")
+            @RequestParam(required = false) Long after,
+
+            @Parameter(description = "Tamaño de página (máximo 1000)", example = "50")
+            @RequestParam int limit,
+
+            WebRequest webRequest
+    ) {
+        logger.debug("GET /api/v1/providers - after: {}, limit: {}", after, limit);
+
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+
+        CursorProviderResponse cursorResponse = providerService.findAfter(after, limit);
+
+        ApiResponse<CursorProviderResponse> response = ApiResponse.success(
+                "Proveedores obtenidos exitosamente",
+                cursorResponse
+        );
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(response);
+    }
+
+    /**
+     * Exporta todos los proveedores como JSON delimitado por saltos de línea (NDJSON)
+     * GET /api/v1/providers/export
+     * Se escribe en streaming con memoria constante, un proveedor por línea
+     */
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @Operation(
+            summary = "Exportar proveedores (NDJSON)",
+            description = "Retorna todos los proveedores ordenados por ID, un objeto JSON por línea. Pensado para sincronizaciones masivas."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Exportación en curso",
+                    content = @Content(mediaType = NDJSON_MEDIA_TYPE,
+                            schema = @Schema(implementation = ProviderResponseDto.class))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportProviders() {
+        logger.debug("GET /api/v1/providers/export");
+
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writerFor(ProviderResponseDto.class);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // El separador de líneas lo escribimos nosotros; sin espacio entre valores raíz
+                generator.setRootValueSeparator(null);
+                AtomicLong written = new AtomicLong();
+                providerService.exportAll(provider -> {
+                    try {
+                        writer.writeValue(generator, provider);
+                        generator.writeRaw('\n');
+                        if (written.incrementAndGet() % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.flush();
+                logger.info("Exportación finalizada: {} proveedores", written.get());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Obtiene varios proveedores por ID
+     * GET /api/v1/providers?ids=1,2,3
+     * Reemplaza una petición por ID: una sola búsqueda en el repositorio, sobre un mismo estado de los datos.
+     */
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Obtener varios proveedores por ID",
+            description = "Retorna en una sola petición los proveedores de la lista 'ids' (máximo 1000), leídos de un mismo " +
+                    "estado de los datos (una escritura concurrente se ve completa o no se ve), y los IDs que no existen. " +
+                    "Para listas largas usar POST /batch-get."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Proveedores obtenidos exitosamente",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Sin cambios desde el ETag enviado en If-None-Match"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "413",
+                    description = "La lista excede el máximo de IDs"
+            )
+    })
+    public ResponseEntity<ApiResponse<ProviderBatchGetResponse>> getProvidersByIds(
+            @Parameter(description = "IDs separados por coma", example = "1,2,3")
+            @RequestParam List<Long> ids,
+
+            WebRequest webRequest
+    ) {
+        logger.debug("GET /api/v1/providers - ids: {}", ids.size());
+
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(batchGetResponse(providerService.findByIds(ids)));
+    }
+
+    /**
+     * Obtiene varios proveedores por ID
+     * POST /api/v1/providers/batch-get
+     * Misma consulta que GET ?ids= con la lista en el cuerpo, para listas que no caben en la URL
+     */
+    @PostMapping("/batch-get")
+    @Operation(
+            summary = "Obtener varios proveedores por ID (lista en el cuerpo)",
+            description = "Retorna en una sola petición los proveedores de la lista 'ids' (máximo 1000), leídos de un mismo " +
+                    "estado de los datos (una escritura concurrente se ve completa o no se ve), y los IDs que no existen"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Proveedores obtenidos exitosamente",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Falta la lista de IDs"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "413",
+                    description = "La lista excede el máximo de IDs"
+            )
+    })
+    public ResponseEntity<ApiResponse<ProviderBatchGetResponse>> batchGetProviders(
+            @Valid @RequestBody ProviderBatchGetRequest request
+    ) {
+        logger.debug("POST /api/v1/providers/batch-get - ids: {}", request.getIds().size());
+
+        return ResponseEntity.ok(batchGetResponse(providerService.findByIds(request.getIds())));
+    }
+
+    private static ApiResponse<ProviderBatchGetResponse> batchGetResponse(ProviderBatchGetResponse result) {
+        return ApiResponse.success(
+                "Proveedores obtenidos exitosamente: " + result.getItems().size() + " encontrados, " +
+                        result.getMissing().size() + " inexistentes",
+                result
+        );
     }
 
     /**
      * Obtiene un proveedor por ID
      * GET /api/v1/providers/{id}
+     * El ETag es la versión del proveedor, el mismo valor que PUT y PATCH esperan en If-Match.
+     * Basta con la versión porque la URL ya identifica al proveedor y los IDs nunca se reutilizan:
+     * un ETag de un proveedor eliminado no puede coincidir con otro creado después con el mismo ID.
      */
     @GetMapping("/{id}")
     @Operation(
@@ -87,6 +386,10 @@ public class ProviderController {
                     description = "Proveedor encontrado",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "El proveedor no cambió desde la versión enviada en If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Proveedor no encontrado"
@@ -94,18 +397,25 @@ public class ProviderController {
     })
     public ResponseEntity<ApiResponse<ProviderResponseDto>> getProviderById(
             @Parameter(description = "ID del proveedor", example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+
+            WebRequest webRequest
     ) {
-        logger.info("GET /api/v1/providers/{}", id);
+        logger.debug("GET /api/v1/providers/{}", id);
 
         ProviderResponseDto provider = providerService.findById(id);
+        if (webRequest.checkNotModified(Long.toString(provider.getVersion()))) {
+            return null;
+        }
 
         ApiResponse<ProviderResponseDto> response = ApiResponse.success(
                 "Proveedor encontrado",
                 provider
         );
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(response);
     }
 
     /**
@@ -135,7 +445,7 @@ public class ProviderController {
     public ResponseEntity<ApiResponse<ProviderResponseDto>> createProvider(
             @Valid @RequestBody ProviderRequestDto requestDto
     ) {
-        logger.info("POST /api/v1/providers - nombre: {}", requestDto.getName());
+        logger.debug("POST /api/v1/providers - nombre: {}", requestDto.getName());
 
         ProviderResponseDto createdProvider = providerService.createProvider(requestDto);
 
@@ -147,6 +457,262 @@ public class ProviderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Crea proveedores de forma masiva a partir de un arreglo JSON
+     * POST /api/v1/providers/bulk
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Carga masiva de proveedores",
+            description = "Recibe un arreglo JSON de proveedores (o NDJSON con Content-Type application/x-ndjson). Valida cada elemento, detecta nombres duplicados en el lote y en la base, y persiste todo con una sola escritura."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Lote procesado; ver el resultado por elemento",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "413",
+                    description = "El lote excede el número máximo de elementos"
+            )
+    })
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importProviders(
+            @RequestBody List<ProviderRequestDto> requests
+    ) {
+        logger.debug("POST /api/v1/providers/bulk - {} elementos", requests.size());
+
+        return bulkImportResponse(providerService.importProviders(requests));
+    }
+
+    /**
+     * Crea proveedores de forma masiva a partir de NDJSON (un proveedor por línea)
+     * POST /api/v1/providers/bulk
+     * Una línea que no es JSON válido se reporta como elemento inválido sin abortar el lote
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON_MEDIA_TYPE)
+    @Operation(hidden = true)
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importProvidersNdjson(
+            InputStream body
+    ) throws IOException {
+        List<ProviderRequestDto> requests = new ArrayList<>();
+        ObjectReader reader = objectMapper.readerFor(ProviderRequestDto.class);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    requests.add(reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    requests.add(null);
+                }
+            }
+        }
+        logger.debug("POST /api/v1/providers/bulk (NDJSON) - {} elementos", requests.size());
+
+        return bulkImportResponse(providerService.importProviders(requests));
+    }
+
+    /**
+     * Valida el If-None-Match de la petición contra la versión actual de los datos.
+     * Si coincide, la respuesta es 304 Not Modified sin consultar el repositorio ni serializar;
+     * si no, agrega el ETag a la respuesta. Los clientes revalidan en cada petición (Cache-Control: no-cache).
+     */
+    private boolean isNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified(weakETag(providerService.getDataVersion()));
+    }
+
+    /**
+     * ETag débil: identifica los datos y no los bytes, de modo que sigue siendo válido cuando
+     * Tomcat comprime la respuesta (no comprime respuestas con ETag fuerte)
+     */
+    private static String weakETag(String dataVersion) {
+        return "W/\"" + dataVersion + "\"";
+    }
+
+    private ResponseEntity<ApiResponse<BulkImportResponse>> bulkImportResponse(BulkImportResponse result) {
+        ApiResponse<BulkImportResponse> response = ApiResponse.success(
+                "Carga masiva procesada: " + result.getCreated() + " de " + result.getTotalItems() + " proveedores creados",
+                result
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reemplaza los datos de un proveedor
+     * PUT /api/v1/providers/{id}
+     * Con If-Match: "versión" solo se aplica si el proveedor no cambió desde que el cliente lo leyó.
+     */
+    @PutMapping("/{id}")
+    @Operation(
+            summary = "Actualizar proveedor",
+            description = "Reemplaza los datos de un proveedor. Con el encabezado If-Match (versión del proveedor) " +
+                    "la modificación solo se aplica si nadie más lo modificó; la respuesta lleva la nueva versión en el ETag"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Proveedor actualizado exitosamente",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Datos de entrada inválidos o If-Match que no es una versión"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Proveedor no encontrado"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Ya existe otro proveedor con ese nombre"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "El proveedor fue modificado por otro usuario (If-Match no coincide)"
+            )
+    })
+    public ResponseEntity<ApiResponse<ProviderResponseDto>> updateProvider(
+            @Parameter(description = "ID del proveedor a actualizar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Versión esperada del proveedor", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProviderRequestDto requestDto
+    ) {
+        logger.debug("PUT /api/v1/providers/{} - If-Match: {}", id, ifMatch);
+
+        ProviderResponseDto updatedProvider = providerService.updateProvider(id, requestDto, expectedVersion(ifMatch));
+
+        return updatedResponse(updatedProvider);
+    }
+
+    /**
+     * Modifica parcialmente un proveedor: los campos omitidos conservan su valor
+     * PATCH /api/v1/providers/{id}
+     */
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Modificar proveedor parcialmente",
+            description = "Modifica solo los campos enviados; el resultado se valida igual que la creación. " +
+                    "Con el encabezado If-Match (versión del proveedor) la modificación solo se aplica si nadie más lo modificó"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Proveedor actualizado exitosamente",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Datos resultantes inválidos o If-Match que no es una versión"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Proveedor no encontrado"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Ya existe otro proveedor con ese nombre"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "El proveedor fue modificado por otro usuario (If-Match no coincide)"
+            )
+    })
+    public ResponseEntity<ApiResponse<ProviderResponseDto>> patchProvider(
+            @Parameter(description = "ID del proveedor a modificar", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Versión esperada del proveedor", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody ProviderRequestDto changes
+    ) {
+        logger.debug("PATCH /api/v1/providers/{} - If-Match: {}", id, ifMatch);
+
+        ProviderResponseDto updatedProvider = providerService.patchProvider(id, changes, expectedVersion(ifMatch));
+
+        return updatedResponse(updatedProvider);
+    }
+
+    /**
+     * Versión esperada según el encabezado If-Match ("3" o 3, el ETag de GET /{id}); null si no se envía o es *.
+     * Un valor que no es una versión es un error del cliente (400), no una versión distinta.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidProviderException("Encabezado If-Match inválido",
+                    Map.of(HttpHeaders.IF_MATCH, "Debe ser la versión del proveedor (ETag de GET /{id}), p. ej. \"3\""));
+        }
+    }
+
+    /**
+     * Respuesta de una modificación con la nueva versión del proveedor como ETag, para el siguiente If-Match
+     */
+    private static ResponseEntity<ApiResponse<ProviderResponseDto>> updatedResponse(ProviderResponseDto updatedProvider) {
+        ApiResponse<ProviderResponseDto> response = ApiResponse.success(
+                "Proveedor actualizado exitosamente",
+                updatedProvider
+        );
+
+        return ResponseEntity.ok()
+                .eTag(Long.toString(updatedProvider.getVersion()))
+                .body(response);
+    }
+
+    /**
+     * Eliminación masiva de proveedores por lista de IDs o por filtro de búsqueda
+     * POST /api/v1/providers/bulk-delete
+     * Todo el lote se elimina con una sola escritura durable.
+     */
+    @PostMapping("/bulk-delete")
+    @Operation(
+            summary = "Eliminación masiva de proveedores",
+            description = "Recibe {\"ids\": [...]} o {\"query\": \"texto\"} (mismas reglas que /search) y elimina todos los " +
+                    "proveedores del lote con una sola escritura. Reporta el resultado de cada ID."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Lote procesado; ver el resultado por ID",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Se debe indicar la lista de IDs o el texto de búsqueda, pero no ambos"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "413",
+                    description = "El lote excede el número máximo de elementos"
+            )
+    })
+    public ResponseEntity<ApiResponse<BulkDeleteResponse>> deleteProviders(
+            @Valid @RequestBody BulkDeleteRequest request
+    ) {
+        logger.debug("POST /api/v1/providers/bulk-delete - ids: {}, query: '{}'",
+                request.getIds() != null ? request.getIds().size() : null, request.getQuery());
+
+        BulkDeleteResponse result = providerService.deleteProviders(request);
+
+        ApiResponse<BulkDeleteResponse> response = ApiResponse.success(
+                "Eliminación masiva procesada: " + result.getDeleted() + " de " + result.getTotalItems() + " proveedores eliminados",
+                result
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Elimina un proveedor por ID
      * DELETE /api/v1/providers/{id}
@@ -170,7 +736,7 @@ public class ProviderController {
             @Parameter(description = "ID del proveedor a eliminar", example = "1")
             @PathVariable Long id
     ) {
-        logger.info("DELETE /api/v1/providers/{}", id);
+        logger.debug("DELETE /api/v1/providers/{}", id);
 
         providerService.deleteProvider(id);
 
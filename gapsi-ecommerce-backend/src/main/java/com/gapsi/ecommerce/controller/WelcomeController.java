@@ -50,7 +50,7 @@ public class WelcomeController {
             )
     })
     public ResponseEntity<ApiResponse<WelcomeResponse>> getWelcome() {
-        logger.info("GET /api/v1/welcome - Solicitando mensaje de bienvenida y versión");
+        logger.debug("GET /api/v1/welcome - Solicitando mensaje de bienvenida y versión");
 
         WelcomeResponse welcomeResponse = WelcomeResponse.builder()
                 .welcomeMessage(welcomeMessage)
@@ -0,0 +1,27 @@
+package com.gapsi.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de un ID de la eliminación masiva de proveedores
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteItemResult {
+
+    /**
+     * Resultado posible de un ID
+     */
+    public enum Status {
+        DELETED, NOT_FOUND
+    }
+
+    private Long id;
+
+    private Status status;
+}
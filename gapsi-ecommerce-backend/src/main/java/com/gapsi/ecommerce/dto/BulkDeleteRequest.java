@@ -0,0 +1,36 @@
+package com.gapsi.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para eliminar un lote de proveedores, por lista de IDs o por filtro de búsqueda
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+
+    /**
+     * IDs de los proveedores a eliminar
+     */
+    private List<Long> ids;
+
+    /**
+     * Texto de búsqueda: se eliminan todos los proveedores que coinciden (mismas reglas que /search)
+     */
+    private String query;
+
+    @JsonIgnore
+    @AssertTrue(message = "Se debe indicar la lista de IDs o el texto de búsqueda, pero no ambos")
+    public boolean isSingleCriterion() {
+        return (ids != null) != (query != null && !query.isBlank());
+    }
+}
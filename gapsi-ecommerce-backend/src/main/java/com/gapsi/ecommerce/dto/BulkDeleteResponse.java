@@ -0,0 +1,39 @@
+package com.gapsi.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de la eliminación masiva de proveedores
+ * Resume el lote e incluye el resultado de cada ID en el orden recibido
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteResponse {
+
+    /**
+     * Número de IDs del lote (recibidos o encontrados por el filtro)
+     */
+    private int totalItems;
+
+    /**
+     * Número de proveedores eliminados
+     */
+    private int deleted;
+
+    /**
+     * Número de IDs que no existían (o se repetían en el lote)
+     */
+    private int notFound;
+
+    /**
+     * Resultado por ID, en el mismo orden del lote
+     */
+    private List<BulkDeleteItemResult> results;
+}
@@ -0,0 +1,49 @@
+package com.gapsi.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO con el resultado de un elemento de la carga masiva de proveedores
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportItemResult {
+
+    /**
+     * Resultado posible de un elemento
+     */
+    public enum Status {
+        CREATED, INVALID, DUPLICATE
+    }
+
+    /**
+     * Posición del elemento en el lote (base 0)
+     */
+    private int index;
+
+    private Status status;
+
+    /**
+     * ID asignado, solo si el proveedor fue creado
+     */
+    private Long id;
+
+    private String name;
+
+    /**
+     * Motivo del rechazo, si aplica
+     */
+    private String message;
+
+    /**
+     * Errores de validación por campo, solo si el elemento es inválido
+     */
+    private Map<String, String> errors;
+}
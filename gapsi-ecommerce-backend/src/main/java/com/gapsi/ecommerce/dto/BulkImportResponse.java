@@ -0,0 +1,39 @@
+package com.gapsi.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de la carga masiva de proveedores
+ * Resume el lote e incluye el resultado de cada elemento en el orden recibido
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResponse {
+
+    /**
+     * Número de elementos recibidos en el lote
+     */
+    private int totalItems;
+
+    /**
+     * Número de proveedores creados
+     */
+    private int created;
+
+    /**
+     * Número de elementos rechazados (inválidos o duplicados)
+     */
+    private int rejected;
+
+    /**
+     * Resultado por elemento, en el mismo orden del lote
+     */
+    private List<BulkImportItemResult> results;
+}
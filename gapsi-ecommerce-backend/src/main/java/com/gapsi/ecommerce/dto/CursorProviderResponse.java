@@ -0,0 +1,40 @@
+package com.gapsi.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta paginada por cursor (keyset)
+ * Pensado para virtual scroll: cada página cuesta O(limit) sin importar la profundidad
+ * y se mantiene estable aunque haya inserciones o eliminaciones concurrentes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorProviderResponse {
+
+    /**
+     * Lista de proveedores en la página actual, ordenados por ID
+     */
+    private List<ProviderResponseDto> items;
+
+    /**
+     * Cursor para solicitar la página siguiente (parámetro "after"); null si no hay más
+     */
+    private Long nextCursor;
+
+    /**
+     * Indica si hay una página siguiente
+     */
+    private boolean hasNext;
+
+    /**
+     * Tamaño de página solicitado (elementos por página)
+     */
+    private int limit;
+}
@@ -0,0 +1,22 @@
+package com.gapsi.ecommerce.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para consultar varios proveedores por ID en una sola petición
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderBatchGetRequest {
+
+    @NotNull(message = "La lista de IDs es obligatoria")
+    private List<Long> ids;
+}
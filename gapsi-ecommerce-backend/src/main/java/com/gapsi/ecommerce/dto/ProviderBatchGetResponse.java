@@ -0,0 +1,29 @@
+package com.gapsi.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de una consulta de varios proveedores por ID
+ * Todos los proveedores se leen de un mismo estado de los datos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderBatchGetResponse {
+
+    /**
+     * Proveedores encontrados, en el orden de los IDs solicitados
+     */
+    private List<ProviderResponseDto> items;
+
+    /**
+     * IDs solicitados que no existen, en el orden en que se solicitaron
+     */
+    private List<Long> missing;
+}
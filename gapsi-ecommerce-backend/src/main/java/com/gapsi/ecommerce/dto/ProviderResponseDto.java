@@ -19,4 +19,5 @@ public class ProviderResponseDto {
     private String name;
     private String companyName;
     private String address;
+    private long version;
 }
@@ -0,0 +1,15 @@
+package com.gapsi.ecommerce.exceptions;
+
+/**
+ * Excepción lanzada cuando una operación por lote excede el número máximo de elementos
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+
+    public BatchTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -29,7 +29,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ProviderNotFoundException.class)
     public ResponseEntity<ApiResponse<Object>> handleProviderNotFoundException(ProviderNotFoundException ex) {
-        logger.error("Proveedor no encontrado: {}", ex.getMessage());
+        logger.debug("Proveedor no encontrado: {}", ex.getMessage());
 
         ApiResponse<Object> response = ApiResponse.builder()
                 .success(false)
@@ -45,7 +45,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(DuplicateProviderException.class)
     public ResponseEntity<ApiResponse<Object>> handleDuplicateProviderException(DuplicateProviderException ex) {
-        logger.error("Proveedor duplicado: {}", ex.getMessage());
+        logger.debug("Proveedor duplicado: {}", ex.getMessage());
 
         ApiResponse<Object> response = ApiResponse.builder()
                 .success(false)
@@ -56,6 +56,58 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    /**
+     * Maneja modificaciones cuya versión esperada (If-Match) ya no es la vigente
+     * La respuesta lleva el ETag de la versión vigente para que el cliente pueda reintentar
+     */
+    @ExceptionHandler(ProviderVersionMismatchException.class)
+    public ResponseEntity<ApiResponse<Object>> handleProviderVersionMismatchException(ProviderVersionMismatchException ex) {
+        logger.debug("Versión de proveedor no vigente: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.builder()
+                .success(false)
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(Long.toString(ex.getCurrentVersion()))
+                .body(response);
+    }
+
+    /**
+     * Maneja proveedores inválidos detectados en la capa de servicio
+     */
+    @ExceptionHandler(InvalidProviderException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleInvalidProviderException(InvalidProviderException ex) {
+        logger.debug("Errores de validación: {}", ex.getErrors());
+
+        ApiResponse<Map<String, String>> response = ApiResponse.<Map<String, String>>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .data(ex.getErrors())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Maneja lotes que exceden el tamaño máximo permitido
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ApiResponse<Object>> handleBatchTooLargeException(BatchTooLargeException ex) {
+        logger.debug("Lote demasiado grande: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.builder()
+                .success(false)
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
     /**
      * Maneja errores de validación de campos
      */
@@ -70,7 +122,7 @@ public class GlobalExceptionHandler {
             errors.put(fieldName, errorMessage);
         });
 
-        logger.error("Errores de validación: {}", errors);
+        logger.debug("Errores de validación: {}", errors);
 
         ApiResponse<Map<String, String>> response = ApiResponse.<Map<String, String>>builder()
                 .success(false)
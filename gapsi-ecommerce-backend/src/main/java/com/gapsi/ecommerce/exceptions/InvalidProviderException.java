@@ -0,0 +1,23 @@
+package com.gapsi.ecommerce.exceptions;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Excepción lanzada cuando los datos de un proveedor no cumplen las validaciones
+ * fuera del binding del controlador (por ejemplo, el resultado de aplicar un PATCH)
+ */
+@Getter
+public class InvalidProviderException extends RuntimeException {
+
+    /**
+     * Mensaje de error por campo
+     */
+    private final Map<String, String> errors;
+
+    public InvalidProviderException(String message, Map<String, String> errors) {
+        super(message);
+        this.errors = errors;
+    }
+}
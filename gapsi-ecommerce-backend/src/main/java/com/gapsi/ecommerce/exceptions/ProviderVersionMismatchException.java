@@ -0,0 +1,21 @@
+package com.gapsi.ecommerce.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Excepción lanzada cuando la versión esperada de un proveedor (If-Match) no es la vigente:
+ * otro cliente lo modificó después de que se leyó
+ */
+@Getter
+public class ProviderVersionMismatchException extends RuntimeException {
+
+    /**
+     * Versión vigente del proveedor
+     */
+    private final long currentVersion;
+
+    public ProviderVersionMismatchException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+}
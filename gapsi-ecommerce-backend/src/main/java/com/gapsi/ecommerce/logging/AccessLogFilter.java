@@ -0,0 +1,77 @@
+package com.gapsi.ecommerce.logging;
+
+import com.gapsi.ecommerce.config.AccessLogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log de acceso estructurado (clave=valor) con muestreo
+ * Registra en el logger "access" una fracción de las peticiones (sample-rate) y, siempre,
+ * las lentas (slow-threshold) y las que terminan en error 5xx. La línea pasa por el appender
+ * asíncrono, así que escribirla no bloquea la petición.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLogger = LoggerFactory.getLogger("access");
+
+    private final AccessLogProperties properties;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !accessLogger.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String reason = reason(response.getStatus(), elapsed);
+            if (reason != null) {
+                accessLogger.info("method={} uri={} query=\"{}\" status={} durationMs={} reason={}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        request.getQueryString() != null ? request.getQueryString() : "",
+                        response.getStatus(),
+                        String.format(Locale.ROOT, "%.3f", elapsed / 1_000_000.0),
+                        reason);
+            }
+        }
+    }
+
+    /**
+     * Motivo por el que se registra la petición, o null si no se registra
+     */
+    private String reason(int status, long elapsedNanos) {
+        if (status >= 500) {
+            return "error";
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        if (ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            return "sample";
+        }
+        return null;
+    }
+}
@@ -47,6 +47,7 @@ public class ProviderMapper {
                 .name(provider.getName())
                 .companyName(provider.getCompanyName())
                 .address(provider.getAddress())
+                .version(provider.getVersion())
                 .build();
     }
 
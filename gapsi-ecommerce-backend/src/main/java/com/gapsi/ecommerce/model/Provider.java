@@ -14,4 +14,5 @@ public class Provider {
     private String name;
     private String companyName;
     private String address;
+    private long version;
 }
@@ -0,0 +1,623 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.model.Provider;
+import jakarta.annotation.PreDestroy;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repositorio de proveedores sobre una base de datos H2 embebida en archivo
+ * La tabla provider tiene llave primaria por ID (identity) e índice único por nombre normalizado,
+ * así que findById, findAfter y la verificación de nombres duplicados se resuelven con índices.
+ * El índice de búsqueda de texto se mantiene en memoria (el mismo que usan los demás motores)
+ * para conservar el ranking. Las escrituras se serializan con un lock para aplicar los cambios
+ * al índice de búsqueda en el mismo orden en que se confirman; las lecturas usan el pool.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "database", name = "engine", havingValue = "h2")
+public class H2ProviderRepository implements ProviderRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2ProviderRepository.class);
+
+    /**
+     * Tabla en la que se crea el esquema y se migran los datos antes de renombrarla a provider
+     */
+    private static final String STAGING_TABLE = "provider_staging";
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE %s (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                name VARCHAR NOT NULL,
+                name_key VARCHAR NOT NULL,
+                company_name VARCHAR,
+                address VARCHAR,
+                version BIGINT NOT NULL DEFAULT 0,
+                CONSTRAINT uk_provider_name_key UNIQUE (name_key)
+            )""".formatted(STAGING_TABLE);
+
+    private static final String SELECT_PROVIDER = "SELECT id, name, company_name, address, version FROM provider";
+    private static final String INSERT_PROVIDER = "INSERT INTO provider (name, name_key, company_name, address) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_PROVIDER_WITH_ID = "INSERT INTO " + STAGING_TABLE + " (id, name, name_key, company_name, address, version) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_PROVIDER = "UPDATE provider SET name = ?, name_key = ?, company_name = ?, address = ?, version = ? WHERE id = ?";
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    private final JdbcConnectionPool dataSource;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ProviderSearchIndex searchIndex = new ProviderSearchIndex();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Vista ordenada de todos los proveedores, reconstruida cuando la versión cambia
+     */
+    private volatile OrderedView orderedView;
+
+    private record OrderedView(long version, List<Provider> providers) {
+    }
+
+    public H2ProviderRepository(DatabaseProperties properties) {
+        String url = resolveUrl(properties);
+        logger.info("URL de la base de datos H2: {}", url);
+        this.dataSource = JdbcConnectionPool.create(url, "sa", "");
+        this.dataSource.setMaxConnections(properties.getH2().getMaxConnections());
+
+        createSchema(properties);
+
+        try (Stream<Provider> providers = streamAll()) {
+            providers.forEach(searchIndex::add);
+        }
+        logger.info("{} proveedores en la base de datos H2", count());
+    }
+
+    private static String resolveUrl(DatabaseProperties properties) {
+        String configured = properties.getH2().getUrl();
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String jsonPath = Paths.get(properties.resolveFilePath()).toAbsolutePath().toString();
+        String basePath = jsonPath.endsWith(".json") ? jsonPath.substring(0, jsonPath.length() - ".json".length()) : jsonPath;
+        return "jdbc:h2:file:" + basePath;
+    }
+
+    @Override
+    public List<Provider> findAll() {
+        long currentVersion = version.get();
+        OrderedView view = orderedView;
+        if (view == null || view.version() != currentVersion) {
+            try (Stream<Provider> providers = streamAll()) {
+                view = new OrderedView(currentVersion, providers.toList());
+            }
+            orderedView = view;
+        }
+        return view.providers();
+    }
+
+    @Override
+    public List<Provider> findAfter(Long afterId, int limit) {
+        return query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    SELECT_PROVIDER + " WHERE id > ? ORDER BY id LIMIT ?")) {
+                statement.setLong(1, afterId != null ? afterId : Long.MIN_VALUE);
+                statement.setInt(2, limit);
+                return readAll(statement);
+            }
+        });
+    }
+
+    /**
+     * Recorre la tabla con un cursor; cerrar el stream libera la conexión
+     */
+    @Override
+    public Stream<Provider> streamAll() {
+        try {
+            Connection connection = dataSource.getConnection();
+            try {
+                PreparedStatement statement = connection.prepareStatement(SELECT_PROVIDER + " ORDER BY id");
+                statement.setFetchSize(FETCH_SIZE);
+                ResultSet resultSet = statement.executeQuery();
+                Spliterator<Provider> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                        Spliterator.ORDERED | Spliterator.NONNULL) {
+                    @Override
+                    public boolean tryAdvance(Consumer<? super Provider> action) {
+                        try {
+                            if (!resultSet.next()) {
+                                return false;
+                            }
+                            action.accept(map(resultSet));
+                            return true;
+                        } catch (SQLException e) {
+                            throw new RuntimeException("Error al leer la base de datos", e);
+                        }
+                    }
+                };
+                return StreamSupport.stream(rows, false).onClose(() -> closeQuietly(connection));
+            } catch (SQLException | RuntimeException e) {
+                closeQuietly(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error al leer la base de datos", e);
+            throw new RuntimeException("Error al leer la base de datos", e);
+        }
+    }
+
+    @Override
+    public ProviderSearchResult search(String query, int offset, int limit) {
+        ProviderSearchIndex.Hits hits = searchIndex.search(query, offset, limit);
+        if (hits.ids().isEmpty()) {
+            return new ProviderSearchResult(hits.totalHits(), List.of());
+        }
+
+        Map<Long, Provider> found = query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_PROVIDER + " WHERE id = ANY(?)")) {
+                statement.setArray(1, connection.createArrayOf("BIGINT", hits.ids().toArray()));
+                Map<Long, Provider> providers = new HashMap<>();
+                readAll(statement).forEach(provider -> providers.put(provider.getId(), provider));
+                return providers;
+            }
+        });
+        List<Provider> providers = hits.ids().stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ProviderSearchResult(hits.totalHits(), providers);
+    }
+
+    /**
+     * Una sola consulta por la llave primaria, que H2 resuelve sobre una misma versión de la tabla (MVCC)
+     */
+    @Override
+    public List<Provider> findAllById(Collection<Long> ids) {
+        Long[] keys = ids.stream().filter(Objects::nonNull).toArray(Long[]::new);
+        if (keys.length == 0) {
+            return List.of();
+        }
+        Map<Long, Provider> byId = new HashMap<>();
+        query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_PROVIDER + " WHERE id = ANY(?)")) {
+                statement.setArray(1, connection.createArrayOf("BIGINT", keys));
+                readAll(statement).forEach(provider -> byId.put(provider.getId(), provider));
+                return null;
+            }
+        });
+        List<Provider> found = new ArrayList<>(byId.size());
+        for (Long id : keys) {
+            Provider provider = byId.get(id);
+            if (provider != null) {
+                found.add(provider);
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    @Override
+    public Optional<Provider> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return query(connection -> selectOne(connection, SELECT_PROVIDER + " WHERE id = ?", id));
+    }
+
+    @Override
+    public Optional<Provider> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return query(connection -> selectOne(connection, SELECT_PROVIDER + " WHERE name_key = ?", normalizeName(name)));
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return findByName(name).isPresent();
+    }
+
+    @Override
+    public Provider save(Provider provider) {
+        writeLock.lock();
+        try {
+            long id = inTransaction(connection -> insert(connection, provider));
+            provider.setId(id);
+            searchIndex.add(provider);
+            version.incrementAndGet();
+            logger.debug("Proveedor guardado con ID: {}", id);
+            return provider;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Provider> insertIfAbsent(Provider provider) {
+        return insertAllIfAbsent(List.of(provider)).get(0);
+    }
+
+    /**
+     * Inserta el lote en una sola transacción; el índice único descarta los nombres repetidos
+     */
+    @Override
+    public List<Optional<Provider>> insertAllIfAbsent(List<Provider> batch) {
+        writeLock.lock();
+        try {
+            List<Long> ids = inTransaction(connection -> {
+                List<Long> generated = new ArrayList<>(batch.size());
+                for (Provider provider : batch) {
+                    try {
+                        generated.add(insert(connection, provider));
+                    } catch (SQLIntegrityConstraintViolationException e) {
+                        generated.add(null);
+                    }
+                }
+                return generated;
+            });
+
+            List<Optional<Provider>> results = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                Long id = ids.get(i);
+                if (id == null) {
+                    results.add(Optional.empty());
+                    continue;
+                }
+                Provider provider = batch.get(i);
+                provider.setId(id);
+                searchIndex.add(provider);
+                results.add(Optional.of(provider));
+                version.incrementAndGet();
+            }
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        if (id == null) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            Optional<Provider> existing = inTransaction(connection -> {
+                Optional<Provider> current = selectOne(connection, SELECT_PROVIDER + " WHERE id = ?", id);
+                if (current.isPresent()) {
+                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM provider WHERE id = ?")) {
+                        statement.setLong(1, id);
+                        statement.executeUpdate();
+                    }
+                }
+                return current;
+            });
+            if (existing.isEmpty()) {
+                logger.debug("No se encontró proveedor con ID {}", id);
+                return false;
+            }
+
+            searchIndex.remove(existing.get());
+            version.incrementAndGet();
+            logger.debug("Proveedor con ID {} eliminado", id);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Una sola transacción: se leen los proveedores del lote (para el índice de búsqueda) y se eliminan
+     * con una sola sentencia por la llave primaria
+     */
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        Long[] keys = ids.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        if (keys.length == 0) {
+            return ids.stream().map(id -> false).toList();
+        }
+        writeLock.lock();
+        try {
+            List<Provider> existing = inTransaction(connection -> {
+                List<Provider> current;
+                try (PreparedStatement statement = connection.prepareStatement(SELECT_PROVIDER + " WHERE id = ANY(?)")) {
+                    statement.setArray(1, connection.createArrayOf("BIGINT", keys));
+                    current = readAll(statement);
+                }
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM provider WHERE id = ANY(?)")) {
+                    statement.setArray(1, connection.createArrayOf("BIGINT", keys));
+                    statement.executeUpdate();
+                }
+                return current;
+            });
+
+            Map<Long, Provider> deleted = new HashMap<>();
+            existing.forEach(provider -> deleted.put(provider.getId(), provider));
+            existing.forEach(searchIndex::remove);
+            if (!existing.isEmpty()) {
+                version.incrementAndGet();
+            }
+
+            // Un ID repetido en el lote solo cuenta como eliminado la primera vez
+            List<Boolean> results = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                results.add(id != null && deleted.remove(id) != null);
+            }
+            logger.debug("Lote eliminado: {} de {} proveedores", existing.size(), ids.size());
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * La versión se verifica y se incrementa en la misma transacción; el índice único
+     * rechaza un nombre que ya usa otro proveedor
+     */
+    @Override
+    public ProviderUpdateResult update(Provider provider, Long expectedVersion) {
+        if (provider.getId() == null) {
+            return ProviderUpdateResult.notFound();
+        }
+        writeLock.lock();
+        try {
+            Provider[] replaced = new Provider[1];
+            ProviderUpdateResult result = inTransaction(connection -> {
+                Optional<Provider> current = selectOne(connection, SELECT_PROVIDER + " WHERE id = ?", provider.getId());
+                if (current.isEmpty()) {
+                    return ProviderUpdateResult.notFound();
+                }
+                Provider existing = current.get();
+                if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+                    return ProviderUpdateResult.versionMismatch(existing);
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement(UPDATE_PROVIDER)) {
+                    statement.setString(1, provider.getName());
+                    statement.setString(2, normalizeName(provider.getName()));
+                    statement.setString(3, provider.getCompanyName());
+                    statement.setString(4, provider.getAddress());
+                    statement.setLong(5, existing.getVersion() + 1);
+                    statement.setLong(6, provider.getId());
+                    statement.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    return ProviderUpdateResult.nameTaken(existing);
+                }
+                provider.setVersion(existing.getVersion() + 1);
+                replaced[0] = existing;
+                return ProviderUpdateResult.updated(provider);
+            });
+            if (result.status() != ProviderUpdateResult.Status.UPDATED) {
+                return result;
+            }
+
+            searchIndex.remove(replaced[0]);
+            searchIndex.add(provider);
+            version.incrementAndGet();
+            logger.debug("Proveedor con ID {} actualizado a la versión {}", provider.getId(), provider.getVersion());
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return query(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM provider")) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        });
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Cierra el pool de conexiones; H2 cierra el archivo al liberarse la última conexión
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        dataSource.dispose();
+    }
+
+    private static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // ---------------------------------------------------------------------
+    // Acceso JDBC
+    // ---------------------------------------------------------------------
+
+    private <T> T query(SqlWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.execute(connection);
+        } catch (SQLException e) {
+            logger.error("Error al leer la base de datos", e);
+            throw new RuntimeException("Error al leer la base de datos", e);
+        }
+    }
+
+    private <T> T inTransaction(SqlWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.execute(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error al escribir en la base de datos", e);
+            throw new RuntimeException("Error al escribir en la base de datos", e);
+        }
+    }
+
+    private static long insert(Connection connection, Provider provider) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_PROVIDER, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, provider.getName());
+            statement.setString(2, normalizeName(provider.getName()));
+            statement.setString(3, provider.getCompanyName());
+            statement.setString(4, provider.getAddress());
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private static Optional<Provider> selectOne(Connection connection, String sql, Object key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, key);
+            List<Provider> providers = readAll(statement);
+            return providers.isEmpty() ? Optional.empty() : Optional.of(providers.get(0));
+        }
+    }
+
+    private static List<Provider> readAll(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            List<Provider> providers = new ArrayList<>();
+            while (resultSet.next()) {
+                providers.add(map(resultSet));
+            }
+            return Collections.unmodifiableList(providers);
+        }
+    }
+
+    private static Provider map(ResultSet resultSet) throws SQLException {
+        return Provider.builder()
+                .id(resultSet.getLong(1))
+                .name(resultSet.getString(2))
+                .companyName(resultSet.getString(3))
+                .address(resultSet.getString(4))
+                .version(resultSet.getLong(5))
+                .build();
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("Error al cerrar la conexión", e);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Esquema y migración
+    // ---------------------------------------------------------------------
+
+    /**
+     * Crea la tabla provider si no existe. El esquema y la migración de bd.json se hacen
+     * en una tabla auxiliar que se renombra al final: si el arranque se interrumpe a la mitad,
+     * el siguiente vuelve a intentarlo desde cero.
+     */
+    private void createSchema(DatabaseProperties properties) {
+        boolean exists = query(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'PROVIDER'");
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1) > 0;
+            }
+        });
+        if (exists) {
+            // Tablas creadas antes de versionar los registros
+            execute("ALTER TABLE provider ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0");
+            return;
+        }
+
+        execute("DROP TABLE IF EXISTS " + STAGING_TABLE);
+        execute(CREATE_TABLE);
+        migrateFromJson(properties);
+        execute("ALTER TABLE " + STAGING_TABLE + " RENAME TO provider");
+    }
+
+    private void execute(String sql) {
+        inTransaction(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                return statement.execute(sql);
+            }
+        });
+    }
+
+    /**
+     * Copia los proveedores de bd.json (y su journal) a la tabla auxiliar
+     */
+    private void migrateFromJson(DatabaseProperties properties) {
+        Path jsonPath = Paths.get(properties.resolveFilePath());
+        if (!Files.exists(jsonPath) && !Files.exists(Paths.get(jsonPath + ".journal"))) {
+            return;
+        }
+
+        logger.info("Migrando {} a la base de datos H2", jsonPath);
+        JsonDatabase source = new JsonDatabase(properties);
+        try (Stream<Provider> providers = source.streamAll()) {
+            long lastId = inTransaction(connection -> {
+                long maxId = 0;
+                int pending = 0;
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_PROVIDER_WITH_ID)) {
+                    for (Provider provider : (Iterable<Provider>) providers::iterator) {
+                        statement.setLong(1, provider.getId());
+                        statement.setString(2, provider.getName());
+                        statement.setString(3, normalizeName(provider.getName()));
+                        statement.setString(4, provider.getCompanyName());
+                        statement.setString(5, provider.getAddress());
+                        statement.setLong(6, provider.getVersion());
+                        statement.addBatch();
+                        maxId = Math.max(maxId, provider.getId());
+                        if (++pending == MIGRATION_BATCH_SIZE) {
+                            statement.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    statement.executeBatch();
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ALTER TABLE " + STAGING_TABLE + " ALTER COLUMN id RESTART WITH " + (maxId + 1));
+                }
+                return maxId;
+            });
+            logger.info("Migración completada hasta el ID {}; {} se conserva como respaldo", lastId, jsonPath.getFileName());
+        } finally {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.model.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de proveedores solo en memoria, sin persistencia
+ * Mismas estructuras que JsonDatabase (mapa por ID, índice ordenado, índice de nombres
+ * e índice de búsqueda) sin el costo de escribir a disco: sirve como referencia en los
+ * benchmarks y para pruebas. Las lecturas no usan locks; las escrituras se serializan.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "database", name = "engine", havingValue = "memory")
+public class InMemoryProviderRepository implements ProviderRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryProviderRepository.class);
+
+    /**
+     * Marca en el índice de nombres un nombre reservado por una inserción o un cambio de nombre en curso
+     */
+    private static final Long RESERVED_ID = -1L;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final ConcurrentHashMap<Long, Provider> providersById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Provider> orderedProviders = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final ProviderSearchIndex searchIndex = new ProviderSearchIndex();
+
+    private final AtomicLong idSequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Vista ordenada de todos los proveedores, reconstruida cuando la versión cambia
+     */
+    private volatile OrderedView orderedView;
+
+    private record OrderedView(long version, List<Provider> providers) {
+    }
+
+    @Override
+    public List<Provider> findAll() {
+        long currentVersion = version.get();
+        OrderedView view = orderedView;
+        if (view == null || view.version() != currentVersion) {
+            view = new OrderedView(currentVersion, List.copyOf(orderedProviders.values()));
+            orderedView = view;
+        }
+        return view.providers();
+    }
+
+    @Override
+    public List<Provider> findAfter(Long afterId, int limit) {
+        Map<Long, Provider> tail = afterId != null ? orderedProviders.tailMap(afterId, false) : orderedProviders;
+        return tail.values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public Stream<Provider> streamAll() {
+        return orderedProviders.values().stream();
+    }
+
+    @Override
+    public ProviderSearchResult search(String query, int offset, int limit) {
+        ProviderSearchIndex.Hits hits = searchIndex.search(query, offset, limit);
+        List<Provider> providers = hits.ids().stream()
+                .map(providersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ProviderSearchResult(hits.totalHits(), providers);
+    }
+
+    /**
+     * Se resuelve con el lock de escritura para no ver una modificación ni un lote a medias
+     */
+    @Override
+    public List<Provider> findAllById(Collection<Long> ids) {
+        List<Provider> found = new ArrayList<>(ids.size());
+        writeLock.lock();
+        try {
+            for (Long id : ids) {
+                Provider provider = id != null ? providersById.get(id) : null;
+                if (provider != null) {
+                    found.add(provider);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    @Override
+    public Optional<Provider> findById(Long id) {
+        return Optional.ofNullable(id).map(providersById::get);
+    }
+
+    @Override
+    public Optional<Provider> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(idsByName.get(normalizeName(name)))
+                .filter(id -> !RESERVED_ID.equals(id))
+                .map(providersById::get);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return name != null && idsByName.containsKey(normalizeName(name));
+    }
+
+    @Override
+    public Provider save(Provider provider) {
+        writeLock.lock();
+        try {
+            provider.setId(idSequence.incrementAndGet());
+            index(provider);
+            logger.debug("Proveedor guardado con ID: {}", provider.getId());
+            return provider;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Provider> insertIfAbsent(Provider provider) {
+        String nameKey = normalizeName(provider.getName());
+        if (idsByName.putIfAbsent(nameKey, RESERVED_ID) != null) {
+            return Optional.empty();
+        }
+        return Optional.of(save(provider));
+    }
+
+    /**
+     * El lote se aplica con el lock de escritura tomado, así que findAllById lo ve completo o no lo ve
+     */
+    @Override
+    public List<Optional<Provider>> insertAllIfAbsent(List<Provider> batch) {
+        List<Optional<Provider>> results = new ArrayList<>(batch.size());
+        writeLock.lock();
+        try {
+            for (Provider provider : batch) {
+                results.add(insertIfAbsent(provider));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return results;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        writeLock.lock();
+        try {
+            Provider existing = id != null ? providersById.remove(id) : null;
+            if (existing == null) {
+                return false;
+            }
+            orderedProviders.remove(id);
+            unindex(existing);
+            logger.debug("Proveedor con ID {} eliminado", id);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * El lote se aplica con el lock de escritura tomado, así que findAllById lo ve completo o no lo ve
+     */
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        List<Boolean> results = new ArrayList<>(ids.size());
+        writeLock.lock();
+        try {
+            for (Long id : ids) {
+                results.add(deleteById(id));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return results;
+    }
+
+    @Override
+    public ProviderUpdateResult update(Provider provider, Long expectedVersion) {
+        writeLock.lock();
+        try {
+            Provider existing = provider.getId() != null ? providersById.get(provider.getId()) : null;
+            if (existing == null) {
+                return ProviderUpdateResult.notFound();
+            }
+            if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+                return ProviderUpdateResult.versionMismatch(existing);
+            }
+            String nameKey = normalizeName(provider.getName());
+            if (!nameKey.equals(normalizeName(existing.getName())) && idsByName.putIfAbsent(nameKey, RESERVED_ID) != null) {
+                return ProviderUpdateResult.nameTaken(existing);
+            }
+
+            provider.setVersion(existing.getVersion() + 1);
+            replace(existing, provider);
+            logger.debug("Proveedor con ID {} actualizado a la versión {}", provider.getId(), provider.getVersion());
+            return ProviderUpdateResult.updated(provider);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return providersById.size();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void close() {
+        // Sin recursos que liberar
+    }
+
+    private static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private void index(Provider provider) {
+        providersById.put(provider.getId(), provider);
+        orderedProviders.put(provider.getId(), provider);
+        idsByName.put(normalizeName(provider.getName()), provider.getId());
+        searchIndex.add(provider);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Reemplaza un proveedor indexado por su nueva versión sin quitarlo de los índices.
+     * Si el nombre no cambia, su entrada en el índice de nombres no se toca; si cambia, el nombre
+     * nuevo (ya reservado) se publica antes de liberar el anterior, de modo que ninguno de los dos
+     * queda libre para una inserción concurrente.
+     */
+    private void replace(Provider previous, Provider provider) {
+        providersById.put(provider.getId(), provider);
+        orderedProviders.put(provider.getId(), provider);
+
+        String previousKey = normalizeName(previous.getName());
+        String nameKey = normalizeName(provider.getName());
+        if (!nameKey.equals(previousKey)) {
+            idsByName.put(nameKey, provider.getId());
+            idsByName.remove(previousKey, provider.getId());
+        }
+
+        searchIndex.remove(previous);
+        searchIndex.add(provider);
+        version.incrementAndGet();
+    }
+
+    private void unindex(Provider provider) {
+        idsByName.remove(normalizeName(provider.getName()), provider.getId());
+        searchIndex.remove(provider);
+        version.incrementAndGet();
+    }
+}
@@ -1,83 +1,352 @@
 package com.gapsi.ecommerce.repository;
 
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
 import com.gapsi.ecommerce.model.Provider;
+import com.gapsi.ecommerce.repository.JsonDatabaseMetrics.LockType;
+import com.gapsi.ecommerce.repository.JsonDatabaseMetrics.Operation;
+import com.gapsi.ecommerce.repository.JsonDatabaseMetrics.Target;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para gestionar proveedores en archivo JSON
  * Patrón: Repository Pattern
- * Thread-safe usando ReadWriteLock para operaciones concurrentes
+ * Los proveedores se cargan una sola vez al iniciar y se mantienen en memoria,
+ * indexados por ID (hash y orden) y por nombre normalizado; las lecturas nunca tocan
+ * disco ni toman locks. Las escrituras se aplican en memoria y se encolan; un único hilo
+ * las persiste por lotes (group commit: un snapshot completo o un bloque en el journal
+ * por lote, según el modo) y cada llamador espera a que su lote sea durable.
+ * Concurrencia de escrituras: las modificaciones y bajas solo compiten por el lock (striped)
+ * de su ID, las altas no compiten entre sí, y todas comparten una compuerta que solo se toma
+ * en exclusiva para copiar un snapshot consistente o revertir un lote fallido.
+ * Solo se usan locks de java.util.concurrent (nunca synchronized): un hilo virtual que espera
+ * un lock se estaciona sin fijar su hilo portador, y durante la E/S de archivo (fsync)
+ * el JDK compensa con un portador adicional.
+ * Cada operación, lock, lote persistido y acceso a disco se mide con Micrometer (ver JsonDatabaseMetrics).
+ * Los IDs no se reutilizan, ni tras reiniciar: si el snapshot no contiene el último ID asignado
+ * (porque se eliminó), ese ID se guarda junto a bd.json en bd.json.lastid.
  */
 @Repository
-public class JsonDatabase {
+@ConditionalOnProperty(prefix = "database", name = "engine", havingValue = "json", matchIfMissing = true)
+public class JsonDatabase implements ProviderRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonDatabase.class);
+
+    /**
+     * Marca en el índice de nombres un nombre reservado por una inserción o un cambio de nombre en curso
+     */
+    private static final Long RESERVED_ID = -1L;
+
+    /**
+     * Intervalo con el que el hilo de group commit revisa si la base de datos se cerró
+     */
+    private static final long WRITER_POLL_MILLIS = 100;
+
+    /**
+     * Número de locks por ID (potencia de 2)
+     */
+    private static final int ID_LOCK_STRIPES = 64;
+
+    private static final Type PROVIDER_LIST_TYPE = new TypeToken<ArrayList<Provider>>() {}.getType();
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+
     private final String DB_FILE_PATH;
     private final Gson gson;
-    private final ReadWriteLock lock;
 
-    public JsonDatabase() {
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.lock = new ReentrantReadWriteLock();
+    /**
+     * Compuerta de mutaciones: los escritores toman el lock de lectura (compartido) mientras
+     * aplican y encolan una escritura; el lock de escritura (exclusivo) garantiza que no hay
+     * escrituras aplicadas sin encolar al copiar un snapshot o revertir un lote
+     */
+    private final ReadWriteLock mutationGate;
+
+    /**
+     * Locks por ID (striped) que serializan las modificaciones y bajas de un mismo proveedor,
+     * de modo que su orden en memoria y en el journal coincida
+     */
+    private final Lock[] idLocks;
+    private final PersistenceMode persistenceMode;
+    private final int compactionThreshold;
+    private final Path journalPath;
+    private final Path lastIdPath;
+    private final ProviderJournal journal;
+    private final int maxBatchSize;
+    private final Duration batchWindow;
+    private final int loadParallelism;
+    private final long minChunkSize;
+    private final JsonDatabaseMetrics metrics;
+
+    /**
+     * Escrituras aplicadas en memoria pendientes de persistir, en orden de aplicación
+     */
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+
+    /**
+     * Hilo único que persiste las escrituras pendientes por lotes
+     */
+    private final Thread groupCommitWriter;
+
+    private volatile boolean closed;
+
+    /**
+     * Índice principal: ID -> proveedor (búsqueda O(1))
+     */
+    private final ConcurrentHashMap<Long, Provider> providersById = new ConcurrentHashMap<>();
+
+    /**
+     * Índice ordenado por ID para recorridos y paginación
+     */
+    private final ConcurrentSkipListMap<Long, Provider> orderedProviders = new ConcurrentSkipListMap<>();
+
+    /**
+     * Índice secundario: nombre normalizado -> ID
+     */
+    private final ConcurrentHashMap<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Último ID asignado; evita recorrer los proveedores para calcular max(id)
+     */
+    private final AtomicLong idSequence = new AtomicLong();
+
+    /**
+     * Último ID guardado en bd.json.lastid. Solo lo usa el hilo que escribe los snapshots.
+     */
+    private long persistedLastId;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Índice invertido para búsqueda de texto y por prefijo
+     */
+    private final ProviderSearchIndex searchIndex = new ProviderSearchIndex();
+
+    /**
+     * Versión de los datos; se incrementa en cada mutación
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Vista ordenada e inmutable de los proveedores, reconstruida bajo demanda
+     * cuando la versión cambia. Permite paginar por offset sin copiar en cada lectura.
+     */
+    private volatile OrderedView orderedView;
+
+    private record OrderedView(long version, List<Provider> providers) {
+    }
+
+    /**
+     * Escritura aplicada en memoria que espera ser persistida
+     *
+     * @param entries  Registros del journal de la escritura
+     * @param rollback Revierte la escritura en memoria si no se puede persistir
+     * @param durable  Se completa cuando el lote que la contiene es durable
+     */
+    private record PendingWrite(List<ProviderJournal.Entry> entries, Runnable rollback,
+                                CompletableFuture<Void> durable) {
+    }
 
-        // Obtener la ruta del directorio del proyecto
-        String userDir = System.getProperty("user.dir");
+    /**
+     * Crea la base de datos con un registro de métricas propio (pruebas, benchmarks y migraciones)
+     */
+    public JsonDatabase(DatabaseProperties properties) {
+        this(properties, new SimpleMeterRegistry());
+    }
 
-        // Si estamos en el directorio raíz del proyecto, agregar el subdirectorio backend
-        if (userDir.endsWith("gapsi-ecommerce")) {
-            this.DB_FILE_PATH = userDir + "/gapsi-ecommerce-backend/bd.json";
-        } else if (userDir.endsWith("gapsi-ecommerce-backend")) {
-            this.DB_FILE_PATH = userDir + "/bd.json";
-        } else {
-            // Fallback: usar ruta relativa
-            this.DB_FILE_PATH = "bd.json";
+    @Autowired
+    public JsonDatabase(DatabaseProperties properties, MeterRegistry meterRegistry) {
+        this.metrics = new JsonDatabaseMetrics(meterRegistry);
+        this.gson = new Gson();
+        this.mutationGate = new ReentrantReadWriteLock();
+        this.idLocks = new Lock[ID_LOCK_STRIPES];
+        for (int i = 0; i < ID_LOCK_STRIPES; i++) {
+            idLocks[i] = new ReentrantLock();
         }
+        this.DB_FILE_PATH = properties.resolveFilePath();
+        this.persistenceMode = properties.getPersistenceMode();
+        this.compactionThreshold = properties.getJournal().getCompactionThreshold();
+        this.journalPath = Paths.get(DB_FILE_PATH + ".journal");
+        this.lastIdPath = Paths.get(DB_FILE_PATH + ".lastid");
+        this.journal = new ProviderJournal(journalPath);
+        this.maxBatchSize = Math.max(1, properties.getGroupCommit().getMaxBatchSize());
+        this.batchWindow = properties.getGroupCommit().getBatchWindow();
+        this.loadParallelism = properties.getLoad().resolveParallelism();
+        this.minChunkSize = Math.max(1, properties.getLoad().getMinChunkSize().toBytes());
 
         logger.info("Ruta del archivo bd.json: {}", DB_FILE_PATH);
-        logger.info("Directorio de trabajo actual: {}", userDir);
+        logger.info("Directorio de trabajo actual: {}", System.getProperty("user.dir"));
+        logger.info("Modo de persistencia: {}", persistenceMode);
+
+        long loadStart = System.nanoTime();
+        recover();
+        logger.info("{} proveedores cargados en memoria en {} ms ({} hilos)", size.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart), loadParallelism);
+        metrics.registerGauges(pendingWrites, Paths.get(DB_FILE_PATH), journalPath);
+
+        this.groupCommitWriter = new Thread(this::runGroupCommit, "bd-group-commit");
+        this.groupCommitWriter.setDaemon(true);
+        this.groupCommitWriter.start();
     }
 
     /**
-     * Lee todos los proveedores del archivo JSON
+     * Retorna todos los proveedores desde memoria, ordenados por ID.
+     * La lista se reutiliza entre lecturas mientras no haya mutaciones.
      *
-     * @return Lista de proveedores
+     * @return Lista inmutable de proveedores
      */
+    @Override
     public List<Provider> findAll() {
-        lock.readLock().lock();
-        try {
-            File file = new File(DB_FILE_PATH);
-            if (!file.exists()) {
-                logger.warn("Archivo bd.json no existe. Retornando lista vacía.");
-                return new ArrayList<>();
+        return metrics.time(Operation.FIND_ALL, () -> {
+            long currentVersion = version.get();
+            OrderedView view = orderedView;
+            if (view != null && view.version() == currentVersion) {
+                return view.providers();
             }
 
-            try (FileReader reader = new FileReader(file)) {
-                Type listType = new TypeToken<ArrayList<Provider>>() {}.getType();
-                List<Provider> providers = gson.fromJson(reader, listType);
-                return providers != null ? providers : new ArrayList<>();
+            List<Provider> providers = List.copyOf(orderedProviders.values());
+            orderedView = new OrderedView(currentVersion, providers);
+            return providers;
+        });
+    }
+
+    /**
+     * Retorna hasta "limit" proveedores con ID mayor a "afterId", ordenados por ID.
+     * Usa el índice ordenado, por lo que el costo es O(log n + limit) sin importar la profundidad.
+     *
+     * @param afterId Último ID recibido por el cliente (null para iniciar desde el principio)
+     * @param limit   Número máximo de proveedores
+     * @return Lista de proveedores
+     */
+    @Override
+    public List<Provider> findAfter(Long afterId, int limit) {
+        return metrics.time(Operation.FIND_AFTER, () -> {
+            Map<Long, Provider> tail = afterId != null
+                    ? orderedProviders.tailMap(afterId, false)
+                    : orderedProviders;
+            return tail.values().stream()
+                    .limit(limit)
+                    .toList();
+        });
+    }
+
+    /**
+     * Recorre todos los proveedores ordenados por ID sin copiarlos.
+     * El recorrido es débilmente consistente: no bloquea escrituras y refleja
+     * cambios concurrentes a partir de la posición actual.
+     *
+     * @return Stream de proveedores
+     */
+    @Override
+    public Stream<Provider> streamAll() {
+        return orderedProviders.values().stream();
+    }
+
+    /**
+     * Busca proveedores por texto o prefijo en name, companyName y address
+     *
+     * @param query  Texto de búsqueda
+     * @param offset Posición del primer resultado
+     * @param limit  Número máximo de resultados
+     * @return Total de coincidencias y proveedores de la página, en orden de relevancia
+     */
+    @Override
+    public ProviderSearchResult search(String query, int offset, int limit) {
+        return metrics.time(Operation.SEARCH, () -> {
+            ProviderSearchIndex.Hits hits = searchIndex.search(query, offset, limit);
+            List<Provider> providers = hits.ids().stream()
+                    .map(providersById::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return new ProviderSearchResult(hits.totalHits(), providers);
+        });
+    }
+
+    /**
+     * Busca varios proveedores por ID en el índice hash con la compuerta de mutaciones en exclusiva:
+     * ninguna escritura (ni un lote) queda a medias entre los proveedores retornados. Son a lo sumo
+     * 1000 búsquedas en el índice hash, así que la compuerta se retiene microsegundos.
+     *
+     * @param ids IDs de los proveedores
+     * @return Lista inmutable con los proveedores encontrados, en el orden de los IDs
+     */
+    @Override
+    public List<Provider> findAllById(Collection<Long> ids) {
+        return metrics.time(Operation.FIND_ALL_BY_ID, () -> {
+            List<Provider> found = new ArrayList<>(ids.size());
+            long gateAcquired = metrics.lock(mutationGate.writeLock(), LockType.MUTATION_GATE_EXCLUSIVE);
+            try {
+                for (Long id : ids) {
+                    Provider provider = id != null ? providersById.get(id) : null;
+                    if (provider != null) {
+                        found.add(provider);
+                    }
+                }
+            } finally {
+                metrics.unlock(mutationGate.writeLock(), LockType.MUTATION_GATE_EXCLUSIVE, gateAcquired);
             }
-        } catch (IOException e) {
-            logger.error("Error al leer archivo bd.json", e);
-            throw new RuntimeException("Error al leer la base de datos", e);
-        } finally {
-            lock.readLock().unlock();
-        }
+            return Collections.unmodifiableList(found);
+        });
     }
 
     /**
@@ -86,10 +355,9 @@ public class JsonDatabase {
      * @param id ID del proveedor
      * @return Optional con el proveedor si existe
      */
+    @Override
     public Optional<Provider> findById(Long id) {
-        return findAll().stream()
-                .filter(provider -> provider.getId().equals(id))
-                .findFirst();
+        return metrics.time(Operation.FIND_BY_ID, () -> Optional.ofNullable(id).map(providersById::get));
     }
 
     /**
@@ -98,10 +366,16 @@ public class JsonDatabase {
      * @param name Nombre del proveedor
      * @return Optional con el proveedor si existe
      */
+    @Override
     public Optional<Provider> findByName(String name) {
-        return findAll().stream()
-                .filter(provider -> provider.getName().equalsIgnoreCase(name))
-                .findFirst();
+        return metrics.time(Operation.FIND_BY_NAME, () -> {
+            if (name == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(idsByName.get(normalizeName(name)))
+                    .filter(id -> !RESERVED_ID.equals(id))
+                    .map(providersById::get);
+        });
     }
 
     /**
@@ -110,8 +384,9 @@ public class JsonDatabase {
      * @param name Nombre a verificar
      * @return true si existe, false en caso contrario
      */
+    @Override
     public boolean existsByName(String name) {
-        return findByName(name).isPresent();
+        return metrics.time(Operation.EXISTS_BY_NAME, () -> name != null && idsByName.containsKey(normalizeName(name)));
     }
 
     /**
@@ -120,27 +395,112 @@ public class JsonDatabase {
      * @param provider Proveedor a guardar
      * @return Proveedor guardado con ID asignado
      */
+    @Override
     public Provider save(Provider provider) {
-        lock.writeLock().lock();
-        try {
-            List<Provider> providers = findAll();
+        return metrics.time(Operation.SAVE, () -> {
+            PendingWrite write;
+            long gateAcquired = metrics.lock(mutationGate.readLock(), LockType.MUTATION_GATE);
+            try {
+                // Asignar ID auto-incremental
+                Long newId = idSequence.incrementAndGet();
+                provider.setId(newId);
+
+                // El ID es nuevo: nadie más puede modificarlo antes de publicarlo, así que no requiere su lock
+                write = enqueue(List.of(ProviderJournal.Entry.save(provider)), () -> unindex(provider));
+                index(provider);
+            } finally {
+                metrics.unlock(mutationGate.readLock(), LockType.MUTATION_GATE, gateAcquired);
+            }
+
+            awaitDurable(write);
+            logger.debug("Proveedor guardado con ID: {}", provider.getId());
+            return provider;
+        });
+    }
 
-            // Asignar ID auto-incremental
-            Long newId = providers.stream()
-                    .mapToLong(Provider::getId)
-                    .max()
-                    .orElse(0L) + 1;
+    /**
+     * Guarda un nuevo proveedor solo si no existe otro con el mismo nombre (case-insensitive).
+     * El nombre se reserva de forma atómica en el índice antes de aplicar la escritura,
+     * por lo que los duplicados se rechazan sin bloquear y dos inserciones concurrentes
+     * con el mismo nombre nunca pueden ganar ambas.
+     *
+     * @param provider Proveedor a guardar
+     * @return Proveedor guardado con ID asignado, o vacío si el nombre ya existe
+     */
+    @Override
+    public Optional<Provider> insertIfAbsent(Provider provider) {
+        return metrics.time(Operation.INSERT_IF_ABSENT, () -> {
+            String nameKey = normalizeName(provider.getName());
+            if (idsByName.putIfAbsent(nameKey, RESERVED_ID) != null) {
+                return Optional.empty();
+            }
 
-            provider.setId(newId);
-            providers.add(provider);
+            PendingWrite write;
+            long gateAcquired = metrics.lock(mutationGate.readLock(), LockType.MUTATION_GATE);
+            try {
+                provider.setId(idSequence.incrementAndGet());
 
-            writeToFile(providers);
-            logger.info("Proveedor guardado con ID: {}", newId);
+                write = enqueue(List.of(ProviderJournal.Entry.save(provider)), () -> unindex(provider));
+                index(provider);
+            } catch (RuntimeException e) {
+                idsByName.remove(nameKey, RESERVED_ID);
+                throw e;
+            } finally {
+                metrics.unlock(mutationGate.readLock(), LockType.MUTATION_GATE, gateAcquired);
+            }
 
-            return provider;
-        } finally {
-            lock.writeLock().unlock();
-        }
+            awaitDurable(write);
+            logger.debug("Proveedor guardado con ID: {}", provider.getId());
+            return Optional.of(provider);
+        });
+    }
+
+    /**
+     * Guarda un lote de proveedores omitiendo los nombres que ya existen, ya sea en la
+     * base de datos o en un elemento anterior del mismo lote. Todo el lote se persiste
+     * con una sola escritura (un snapshot o un bloque en el journal).
+     *
+     * @param batch Proveedores a guardar
+     * @return Por cada elemento del lote, el proveedor guardado o vacío si el nombre ya existía
+     */
+    @Override
+    public List<Optional<Provider>> insertAllIfAbsent(List<Provider> batch) {
+        return metrics.time(Operation.INSERT_ALL_IF_ABSENT, () -> {
+            List<Optional<Provider>> results = new ArrayList<>(batch.size());
+            List<Provider> inserted = new ArrayList<>();
+            PendingWrite write = null;
+
+            long gateAcquired = metrics.lock(mutationGate.readLock(), LockType.MUTATION_GATE);
+            try {
+                for (Provider provider : batch) {
+                    if (idsByName.putIfAbsent(normalizeName(provider.getName()), RESERVED_ID) != null) {
+                        results.add(Optional.empty());
+                        continue;
+                    }
+                    provider.setId(idSequence.incrementAndGet());
+                    inserted.add(provider);
+                    results.add(Optional.of(provider));
+                }
+
+                if (!inserted.isEmpty()) {
+                    // Se encola antes de publicar: una baja concurrente de estos IDs siempre queda después en el journal
+                    write = enqueue(inserted.stream().map(ProviderJournal.Entry::save).toList(),
+                            () -> inserted.forEach(this::unindex));
+                    inserted.forEach(this::index);
+                }
+            } catch (RuntimeException e) {
+                inserted.forEach(provider -> idsByName.remove(normalizeName(provider.getName()), RESERVED_ID));
+                throw e;
+            } finally {
+                metrics.unlock(mutationGate.readLock(), LockType.MUTATION_GATE, gateAcquired);
+            }
+
+            if (write != null) {
+                awaitDurable(write);
+            }
+            logger.debug("Lote guardado: {} de {} proveedores", inserted.size(), batch.size());
+            return results;
+        });
     }
 
     /**
@@ -149,72 +509,725 @@ public class JsonDatabase {
      * @param id ID del proveedor a eliminar
      * @return true si se eliminó, false si no existía
      */
+    @Override
     public boolean deleteById(Long id) {
-        lock.writeLock().lock();
+        return metrics.time(Operation.DELETE_BY_ID, () -> {
+            if (id == null) {
+                logger.debug("No se encontró proveedor con ID {}", id);
+                return false;
+            }
+
+            PendingWrite write;
+            Lock idLock = idLock(id);
+            long gateAcquired = metrics.lock(mutationGate.readLock(), LockType.MUTATION_GATE);
+            long idAcquired = metrics.lock(idLock, LockType.ID);
+            try {
+                Provider existing = providersById.get(id);
+                if (existing == null) {
+                    logger.debug("No se encontró proveedor con ID {}", id);
+                    return false;
+                }
+
+                unindex(existing);
+                write = enqueue(List.of(ProviderJournal.Entry.delete(id)), () -> index(existing));
+            } finally {
+                metrics.unlock(idLock, LockType.ID, idAcquired);
+                metrics.unlock(mutationGate.readLock(), LockType.MUTATION_GATE, gateAcquired);
+            }
+
+            awaitDurable(write);
+            logger.debug("Proveedor con ID {} eliminado", id);
+            return true;
+        });
+    }
+
+    /**
+     * Elimina un lote de proveedores. Cada baja se aplica en memoria con el lock de su ID
+     * y todas se persisten juntas con un solo snapshot o un solo bloque del journal.
+     *
+     * @param ids IDs de los proveedores a eliminar
+     * @return Por cada ID, true si se eliminó o false si no existía (o se repite en el lote)
+     */
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        return metrics.time(Operation.DELETE_ALL_BY_ID, () -> {
+            List<Boolean> results = new ArrayList<>(ids.size());
+            List<Provider> deleted = new ArrayList<>();
+            PendingWrite write = null;
+
+            long gateAcquired = metrics.lock(mutationGate.readLock(), LockType.MUTATION_GATE);
+            try {
+                for (Long id : ids) {
+                    Provider existing = null;
+                    if (id != null) {
+                        Lock idLock = idLock(id);
+                        long idAcquired = metrics.lock(idLock, LockType.ID);
+                        try {
+                            existing = providersById.get(id);
+                            if (existing != null) {
+                                unindex(existing);
+                            }
+                        } finally {
+                            metrics.unlock(idLock, LockType.ID, idAcquired);
+                        }
+                    }
+                    if (existing != null) {
+                        deleted.add(existing);
+                    }
+                    results.add(existing != null);
+                }
+
+                if (!deleted.isEmpty()) {
+                    write = enqueue(deleted.stream().map(provider -> ProviderJournal.Entry.delete(provider.getId())).toList(),
+                            () -> deleted.forEach(this::index));
+                }
+            } finally {
+                metrics.unlock(mutationGate.readLock(), LockType.MUTATION_GATE, gateAcquired);
+            }
+
+            if (write != null) {
+                awaitDurable(write);
+            }
+            logger.debug("Lote eliminado: {} de {} proveedores", deleted.size(), ids.size());
+            return results;
+        });
+    }
+
+    /**
+     * Actualiza un proveedor existente.
+     * Debe recibir una instancia nueva: las instancias retornadas por las consultas
+     * están indexadas y no deben modificarse en sitio.
+     *
+     * @param provider        Proveedor con datos actualizados
+     * @param expectedVersion Versión que debe tener el proveedor vigente (null para no verificarla)
+     * @return Resultado de la actualización con el proveedor actualizado o el vigente
+     */
+    @Override
+    public ProviderUpdateResult update(Provider provider, Long expectedVersion) {
+        return metrics.time(Operation.UPDATE, () -> {
+            if (provider.getId() == null) {
+                return ProviderUpdateResult.notFound();
+            }
+
+            PendingWrite write;
+            Lock idLock = idLock(provider.getId());
+            long gateAcquired = metrics.lock(mutationGate.readLock(), LockType.MUTATION_GATE);
+            long idAcquired = metrics.lock(idLock, LockType.ID);
+            try {
+                Provider existing = providersById.get(provider.getId());
+                if (existing == null) {
+                    return ProviderUpdateResult.notFound();
+                }
+                if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+                    return ProviderUpdateResult.versionMismatch(existing);
+                }
+
+                // Un nombre nuevo se reserva igual que en una inserción
+                String nameKey = normalizeName(provider.getName());
+                boolean renamed = !nameKey.equals(normalizeName(existing.getName()));
+                if (renamed && idsByName.putIfAbsent(nameKey, RESERVED_ID) != null) {
+                    return ProviderUpdateResult.nameTaken(existing);
+                }
+
+                try {
+                    provider.setVersion(existing.getVersion() + 1);
+                    replace(existing, provider);
+                    write = enqueue(List.of(ProviderJournal.Entry.update(provider)), () -> replace(provider, existing));
+                } catch (RuntimeException e) {
+                    if (renamed) {
+                        idsByName.remove(nameKey, RESERVED_ID);
+                    }
+                    throw e;
+                }
+            } finally {
+                metrics.unlock(idLock, LockType.ID, idAcquired);
+                metrics.unlock(mutationGate.readLock(), LockType.MUTATION_GATE, gateAcquired);
+            }
+
+            awaitDurable(write);
+            logger.debug("Proveedor con ID {} actualizado a la versión {}", provider.getId(), provider.getVersion());
+            return ProviderUpdateResult.updated(provider);
+        });
+    }
+
+    /**
+     * Cuenta el total de proveedores
+     *
+     * @return Total de proveedores
+     */
+    @Override
+    public long count() {
+        return size.get();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Persiste las escrituras pendientes, compacta el journal y libera el archivo al detener la aplicación
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        mutationGate.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            mutationGate.writeLock().unlock();
+        }
+
         try {
-            List<Provider> providers = findAll();
-            boolean removed = providers.removeIf(provider -> provider.getId().equals(id));
+            groupCommitWriter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
 
-            if (removed) {
-                writeToFile(providers);
-                logger.info("Proveedor con ID {} eliminado", id);
-            } else {
-                logger.warn("No se encontró proveedor con ID {}", id);
+        mutationGate.writeLock().lock();
+        try {
+            if (journal.getRecordCount() > 0) {
+                compact(new ArrayList<>(orderedProviders.values()), idSequence.get());
             }
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Error al cerrar el journal", e);
+        } finally {
+            mutationGate.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lock que serializa las escrituras sobre un ID
+     */
+    private Lock idLock(Long id) {
+        return idLocks[Long.hashCode(id) & (ID_LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Normaliza un nombre para el índice (case-insensitive)
+     */
+    private static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Agrega el proveedor a los índices en memoria
+     */
+    private void index(Provider provider) {
+        orderedProviders.put(provider.getId(), provider);
+        if (providersById.put(provider.getId(), provider) == null) {
+            size.incrementAndGet();
+        }
+        idsByName.put(normalizeName(provider.getName()), provider.getId());
+        searchIndex.add(provider);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Quita el proveedor de los índices en memoria
+     */
+    private void unindex(Provider provider) {
+        orderedProviders.remove(provider.getId());
+        if (providersById.remove(provider.getId()) != null) {
+            size.decrementAndGet();
+        }
+        idsByName.remove(normalizeName(provider.getName()), provider.getId());
+        searchIndex.remove(provider);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Reemplaza un proveedor indexado por su nueva versión sin quitarlo de los índices:
+     * las lecturas por ID nunca dejan de encontrarlo. Si el nombre no cambia, su entrada en el
+     * índice de nombres no se toca; si cambia, el nombre nuevo (ya reservado) se publica antes
+     * de liberar el anterior, de modo que ninguno de los dos queda libre para otra inserción.
+     */
+    private void replace(Provider previous, Provider provider) {
+        orderedProviders.put(provider.getId(), provider);
+        providersById.put(provider.getId(), provider);
+
+        String previousKey = normalizeName(previous.getName());
+        String nameKey = normalizeName(provider.getName());
+        if (!nameKey.equals(previousKey)) {
+            idsByName.put(nameKey, provider.getId());
+            idsByName.remove(previousKey, provider.getId());
+        }
+
+        searchIndex.remove(previous);
+        searchIndex.add(provider);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Reconstruye el estado al iniciar: snapshot bd.json más los registros del journal.
+     * Con más de un hilo de carga, bd.json se interpreta por fragmentos y los índices se construyen en paralelo.
+     * En modo SNAPSHOT un journal remanente (p. ej. tras cambiar de modo) se compacta de inmediato.
+     */
+    private void recover() {
+        ExecutorService loader = loadParallelism > 1
+                ? Executors.newFixedThreadPool(loadParallelism, loaderThreadFactory())
+                : null;
+        Executor executor = loader != null ? loader : Runnable::run;
+        int replayed;
+        try {
+            Map<Long, Provider> recovered = new LinkedHashMap<>();
+            for (Provider provider : loadFromFile(loader)) {
+                recovered.put(provider.getId(), provider);
+            }
+
+            if (Files.exists(journalPath)) {
+                metrics.recordJournalRead(journalPath.toFile().length());
+            }
+            replayed = journal.replay(recovered);
+            indexAll(recovered.values(), executor);
+        } finally {
+            if (loader != null) {
+                loader.shutdown();
+            }
+        }
+        persistedLastId = readLastId();
+        long lastId = Math.max(persistedLastId, journal.getLastId());
+        idSequence.set(Math.max(lastId, orderedProviders.isEmpty() ? 0L : orderedProviders.lastKey()));
+
+        if (replayed > 0) {
+            logger.info("{} registros del journal reproducidos sobre bd.json", replayed);
+            if (persistenceMode == PersistenceMode.SNAPSHOT) {
+                compact(new ArrayList<>(orderedProviders.values()), idSequence.get());
+            }
+        }
+    }
+
+    /**
+     * Construye los índices con los proveedores recuperados al iniciar. Los índices por ID,
+     * el de nombres y cada campo del índice de búsqueda se construyen en tareas independientes.
+     */
+    private void indexAll(Collection<Provider> providers, Executor executor) {
+        CompletableFuture<Void> ordered = CompletableFuture.runAsync(() -> {
+            for (Provider provider : providers) {
+                orderedProviders.put(provider.getId(), provider);
+            }
+        }, executor);
+        CompletableFuture<Void> byId = CompletableFuture.runAsync(() -> {
+            for (Provider provider : providers) {
+                providersById.put(provider.getId(), provider);
+            }
+        }, executor);
+        CompletableFuture<Void> byName = CompletableFuture.runAsync(() -> {
+            for (Provider provider : providers) {
+                idsByName.put(normalizeName(provider.getName()), provider.getId());
+            }
+        }, executor);
+        searchIndex.addAll(providers, executor);
+        CompletableFuture.allOf(ordered, byId, byName).join();
+
+        size.set(providersById.size());
+        version.addAndGet(providers.size());
+    }
+
+    /**
+     * Lee los proveedores del archivo JSON. Solo se invoca al iniciar.
+     * Con un executor de carga y un archivo de al menos dos fragmentos, el arreglo se divide en
+     * fragmentos que se interpretan en paralelo (cada uno con su propio JsonReader) y se concatenan en orden.
+     *
+     * @param loader Executor de la carga en paralelo (null para interpretar el archivo en un solo hilo)
+     * @return Lista de proveedores en el orden del archivo
+     */
+    private List<Provider> loadFromFile(ExecutorService loader) {
+        File file = new File(DB_FILE_PATH);
+        if (!file.exists()) {
+            logger.warn("Archivo bd.json no existe. Iniciando con lista vacía.");
+            return new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        try {
+            int chunks = (int) Math.min(loadParallelism, file.length() / minChunkSize);
+            List<Provider> loaded = loader != null && chunks > 1 && file.length() <= Integer.MAX_VALUE
+                    ? loadInChunks(file, chunks, loader)
+                    : loadSequentially(file);
+            metrics.recordParse(file.length(), System.nanoTime() - start);
+            return loaded;
+        } catch (IOException e) {
+            logger.error("Error al leer archivo bd.json", e);
+            throw new RuntimeException("Error al leer la base de datos", e);
+        }
+    }
+
+    private List<Provider> loadSequentially(File file) throws IOException {
+        try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            List<Provider> loaded = gson.fromJson(reader, PROVIDER_LIST_TYPE);
+            return loaded != null ? loaded : new ArrayList<>();
+        }
+    }
+
+    private List<Provider> loadInChunks(File file, int chunks, ExecutorService loader) throws IOException {
+        byte[] json = Files.readAllBytes(file.toPath());
+        List<int[]> ranges = splitTopLevelArray(json, chunks);
+        if (ranges == null) {
+            // No es un arreglo completo: la lectura en un solo hilo reporta el error de formato
+            return loadSequentially(file);
+        }
+
+        List<CompletableFuture<List<Provider>>> parsed = ranges.stream()
+                .map(range -> CompletableFuture.supplyAsync(() -> parseChunk(json, range[0], range[1]), loader))
+                .toList();
+        List<Provider> providers = new ArrayList<>();
+        for (CompletableFuture<List<Provider>> chunk : parsed) {
+            providers.addAll(chunk.join());
+        }
+        return providers;
+    }
+
+    /**
+     * Divide el arreglo de bd.json en fragmentos de tamaño similar. Cada fragmento termina en una
+     * coma del primer nivel del arreglo (fuera de cadenas), es decir, entre dos proveedores.
+     *
+     * @return Posiciones [inicio, fin) de cada fragmento sin los corchetes del arreglo,
+     * o null si el archivo no es un arreglo completo
+     */
+    private static List<int[]> splitTopLevelArray(byte[] json, int chunks) {
+        List<int[]> ranges = new ArrayList<>();
+        int targetSize = json.length / chunks;
+        int depth = 0;
+        int start = -1;
+        boolean inString = false;
+        for (int i = 0; i < json.length; i++) {
+            byte b = json[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> inString = true;
+                case '[', '{' -> {
+                    if (depth == 0 && b != '[') {
+                        return null;
+                    }
+                    if (depth++ == 0) {
+                        start = i + 1;
+                    }
+                }
+                case ']', '}' -> {
+                    if (--depth == 0) {
+                        ranges.add(new int[]{start, i});
+                        return ranges;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1 && i - start >= targetSize) {
+                        ranges.add(new int[]{start, i});
+                        start = i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return null;
+    }
 
-            return removed;
+    /**
+     * Interpreta un fragmento del arreglo como un arreglo propio, en streaming y sin copiarlo
+     */
+    private List<Provider> parseChunk(byte[] json, int from, int to) {
+        InputStream chunk = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(ARRAY_START),
+                new ByteArrayInputStream(json, from, to - from),
+                new ByteArrayInputStream(ARRAY_END))));
+        try (JsonReader reader = new JsonReader(new InputStreamReader(chunk, StandardCharsets.UTF_8))) {
+            List<Provider> loaded = gson.fromJson(reader, PROVIDER_LIST_TYPE);
+            return loaded != null ? loaded : List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ThreadFactory loaderThreadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "bd-load-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Encola una escritura. Debe invocarse con la compuerta de mutaciones tomada y, para un ID
+     * existente, con su lock, de modo que el orden de la cola para cada ID sea el orden en que
+     * se aplicaron sus escrituras. Las escrituras sobre IDs distintos conmutan entre sí.
+     */
+    private PendingWrite enqueue(List<ProviderJournal.Entry> entries, Runnable rollback) {
+        if (closed) {
+            rollback.run();
+            throw new IllegalStateException("La base de datos está cerrada");
+        }
+        PendingWrite write = new PendingWrite(entries, rollback, new CompletableFuture<>());
+        pendingWrites.add(write);
+        return write;
+    }
+
+    /**
+     * Espera a que la escritura sea durable. Debe invocarse sin locks tomados.
+     */
+    private void awaitDurable(PendingWrite write) {
+        long start = System.nanoTime();
+        try {
+            write.durable().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         } finally {
-            lock.writeLock().unlock();
+            metrics.recordCommitWait(System.nanoTime() - start);
         }
     }
 
     /**
-     * Actualiza un proveedor existente
+     * Ciclo del hilo de group commit: toma lotes de escrituras pendientes y los persiste
+     * hasta que la base de datos se cierra y la cola queda vacía
+     */
+    private void runGroupCommit() {
+        while (!closed || !pendingWrites.isEmpty()) {
+            List<PendingWrite> batch = nextBatch();
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+        }
+    }
+
+    /**
+     * Espera la primera escritura pendiente y agrega las que lleguen dentro de la ventana
+     * del lote, hasta el tamaño máximo
+     */
+    private List<PendingWrite> nextBatch() {
+        List<PendingWrite> batch = new ArrayList<>();
+        try {
+            PendingWrite first = pendingWrites.poll(WRITER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return batch;
+            }
+            batch.add(first);
+
+            long deadline = System.nanoTime() + batchWindow.toNanos();
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                PendingWrite next = remaining > 0
+                        ? pendingWrites.poll(remaining, TimeUnit.NANOSECONDS)
+                        : pendingWrites.poll();
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return batch;
+    }
+
+    /**
+     * Persiste un lote con una sola escritura según el modo configurado y notifica a los llamadores.
+     * Cuando se escribe un snapshot (modo SNAPSHOT o compactación del journal) se toman también
+     * todas las escrituras encoladas hasta ese momento, porque el snapshot ya las incluye.
+     * Si la persistencia falla, el lote y las escrituras encoladas después se revierten en memoria.
      *
-     * @param provider Proveedor con datos actualizados
-     * @return Proveedor actualizado
+     * @param batch Escrituras pendientes en orden de aplicación
      */
-    public Provider update(Provider provider) {
-        lock.writeLock().lock();
+    private void flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
         try {
-            List<Provider> providers = findAll();
+            if (persistenceMode == PersistenceMode.JOURNAL
+                    && journal.getRecordCount() + countEntries(batch) < compactionThreshold) {
+                metrics.recordJournalAppend(journal.append(entriesOf(batch)));
+                metrics.recordFlush(Target.JOURNAL, batch.size(), System.nanoTime() - start);
+            } else {
+                List<Provider> snapshot;
+                long lastId;
+                long gateAcquired = metrics.lock(mutationGate.writeLock(), LockType.MUTATION_GATE_EXCLUSIVE);
+                try {
+                    pendingWrites.drainTo(batch);
+                    snapshot = new ArrayList<>(orderedProviders.values());
+                    lastId = idSequence.get();
+                } finally {
+                    metrics.unlock(mutationGate.writeLock(), LockType.MUTATION_GATE_EXCLUSIVE, gateAcquired);
+                }
 
-            for (int i = 0; i < providers.size(); i++) {
-                if (providers.get(i).getId().equals(provider.getId())) {
-                    providers.set(i, provider);
-                    writeToFile(providers);
-                    logger.info("Proveedor con ID {} actualizado", provider.getId());
-                    return provider;
+                if (persistenceMode == PersistenceMode.JOURNAL) {
+                    // El journal queda igual al snapshot, así que reproducirlo tras una caída no cambia nada
+                    metrics.recordJournalAppend(journal.append(entriesOf(batch)));
+                    compactQuietly(snapshot, lastId);
+                } else {
+                    writeToFile(snapshot, lastId);
                 }
+                metrics.recordFlush(Target.SNAPSHOT, batch.size(), System.nanoTime() - start);
             }
+        } catch (RuntimeException e) {
+            rollback(batch, e);
+            return;
+        }
+
+        batch.forEach(write -> write.durable().complete(null));
+    }
 
-            throw new RuntimeException("Proveedor no encontrado con ID: " + provider.getId());
+    /**
+     * Revierte en memoria, en orden inverso, el lote fallido y todas las escrituras encoladas después,
+     * y notifica el error a sus llamadores
+     */
+    private void rollback(List<PendingWrite> batch, RuntimeException error) {
+        List<PendingWrite> failed = new ArrayList<>(batch);
+        long gateAcquired = metrics.lock(mutationGate.writeLock(), LockType.MUTATION_GATE_EXCLUSIVE);
+        try {
+            pendingWrites.drainTo(failed);
+            for (int i = failed.size() - 1; i >= 0; i--) {
+                failed.get(i).rollback().run();
+            }
         } finally {
-            lock.writeLock().unlock();
+            metrics.unlock(mutationGate.writeLock(), LockType.MUTATION_GATE_EXCLUSIVE, gateAcquired);
         }
+
+        logger.error("No se pudieron persistir {} escrituras; se revirtieron en memoria", failed.size());
+        failed.forEach(write -> write.durable().completeExceptionally(error));
+    }
+
+    private static int countEntries(List<PendingWrite> batch) {
+        int count = 0;
+        for (PendingWrite write : batch) {
+            count += write.entries().size();
+        }
+        return count;
+    }
+
+    private static List<ProviderJournal.Entry> entriesOf(List<PendingWrite> batch) {
+        List<ProviderJournal.Entry> entries = new ArrayList<>(countEntries(batch));
+        for (PendingWrite write : batch) {
+            entries.addAll(write.entries());
+        }
+        return entries;
     }
 
     /**
-     * Cuenta el total de proveedores
+     * Escribe un snapshot y vacía el journal
      *
-     * @return Total de proveedores
+     * @param snapshot Estado que incluye todos los registros del journal
+     * @param lastId   Último ID asignado al copiar el estado
      */
-    public long count() {
-        return findAll().size();
+    private void compact(List<Provider> snapshot, long lastId) {
+        writeToFile(snapshot, lastId);
+        journal.reset();
+        logger.info("Journal compactado en bd.json con {} proveedores", snapshot.size());
     }
 
     /**
-     * Escribe la lista de proveedores al archivo JSON
+     * Compacta después de que el lote ya es durable en el journal. Un fallo no revierte
+     * el lote: el journal se conserva y la compactación se reintenta con el siguiente lote.
+     */
+    private void compactQuietly(List<Provider> snapshot, long lastId) {
+        try {
+            compact(snapshot, lastId);
+        } catch (RuntimeException e) {
+            logger.error("No se pudo compactar el journal; se reintentará con el siguiente lote", e);
+        }
+    }
+
+    /**
+     * Escribe la lista de proveedores al archivo JSON de forma atómica.
+     * El contenido se escribe en un archivo temporal, se sincroniza a disco y se
+     * renombra sobre bd.json, de modo que una caída a mitad de la escritura nunca
+     * deja el archivo truncado. Los lectores siguen atendiendo desde memoria.
+     * Si el rename no es posible (p. ej. bd.json montado como archivo en docker)
+     * la escritura falla y se revierte en lugar de sobrescribir el archivo en sitio.
+     * Si el último ID asignado no está en la lista (se eliminó), se guarda antes en bd.json.lastid
+     * para no reutilizarlo al reiniciar.
      *
-     * @param providers Lista de proveedores
+     * @param providers Lista de proveedores ordenada por ID
+     * @param lastId    Último ID asignado al copiar la lista
      */
-    private void writeToFile(List<Provider> providers) {
-        try (FileWriter writer = new FileWriter(DB_FILE_PATH)) {
-            gson.toJson(providers, writer);
-            writer.flush();
+    private void writeToFile(List<Provider> providers, long lastId) {
+        Path target = Paths.get(DB_FILE_PATH).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            long highestId = providers.isEmpty() ? 0L : providers.get(providers.size() - 1).getId();
+            if (lastId > highestId && lastId > persistedLastId) {
+                writeLastId(lastId);
+            }
+
+            long start = System.nanoTime();
+            try (FileOutputStream out = new FileOutputStream(temp.toFile());
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                gson.toJson(providers, writer);
+                writer.flush();
+                long serialized = System.nanoTime();
+                metrics.recordSerialize(out.getChannel().position(), serialized - start);
+                out.getFD().sync();
+                metrics.recordFsync(System.nanoTime() - serialized);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (FileSystemException e) {
+                // Copiar en sitio dejaría bd.json truncado ante una caída: se rechaza la escritura
+                Files.deleteIfExists(temp);
+                logger.error("No se puede reemplazar {} atómicamente ({}). Si se ejecuta en docker, monte el " +
+                        "directorio que lo contiene como volumen, no el archivo", target, e.getMessage());
+                throw e;
+            }
+            syncDirectory(target.getParent());
         } catch (IOException e) {
             logger.error("Error al escribir en archivo bd.json", e);
             throw new RuntimeException("Error al escribir en la base de datos", e);
         }
     }
+
+    /**
+     * Guarda el último ID asignado en bd.json.lastid de forma atómica (archivo temporal y rename).
+     * Se escribe antes que el snapshot: si la escritura del snapshot falla, el valor guardado
+     * solo puede quedar por encima del necesario, nunca por debajo.
+     */
+    private void writeLastId(long lastId) throws IOException {
+        Path target = lastIdPath.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            out.write(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(target.getParent());
+        persistedLastId = lastId;
+    }
+
+    /**
+     * Lee el último ID guardado en bd.json.lastid. Solo se invoca al iniciar.
+     *
+     * @return Último ID guardado, o 0 si el archivo no existe
+     */
+    private long readLastId() {
+        if (!Files.exists(lastIdPath)) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(Files.readString(lastIdPath, StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Error al leer el último ID asignado de {}", lastIdPath, e);
+            throw new RuntimeException("Error al leer la base de datos", e);
+        }
+    }
+
+    /**
+     * Sincroniza el directorio para que el rename sobreviva a una caída.
+     * No todas las plataformas lo permiten (p. ej. Windows), en cuyo caso se ignora.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("No se pudo sincronizar el directorio {}: {}", directory, e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,227 @@
+package com.gapsi.ecommerce.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de JsonDatabase (Micrometer)
+ * Permiten distinguir si una petición lenta se debió al disco, a Gson o a la contención de locks:
+ * - bd.operation{operation}: duración de cada operación; en escrituras incluye la espera de durabilidad
+ * - bd.lock.wait{lock} y bd.lock.held{lock}: tiempo esperando y reteniendo la compuerta de mutaciones
+ *   (compartida o exclusiva) y los locks por ID
+ * - bd.commit.wait: tiempo que una escritura espera a que su lote sea durable
+ * - bd.flush{target} y bd.flush.batch: duración y número de escrituras de cada lote persistido
+ * - bd.parse, bd.serialize y bd.fsync: lectura con Gson al iniciar, escritura del snapshot con Gson
+ *   y sincronización a disco
+ * - bd.bytes.read y bd.bytes.written{file}: bytes leídos y escritos
+ * - bd.pending.writes y bd.file.size{file}: escrituras en cola y tamaño de los archivos
+ */
+final class JsonDatabaseMetrics {
+
+    enum Operation {
+        FIND_ALL("findAll"),
+        FIND_AFTER("findAfter"),
+        SEARCH("search"),
+        FIND_BY_ID("findById"),
+        FIND_ALL_BY_ID("findAllById"),
+        FIND_BY_NAME("findByName"),
+        EXISTS_BY_NAME("existsByName"),
+        SAVE("save"),
+        INSERT_IF_ABSENT("insertIfAbsent"),
+        INSERT_ALL_IF_ABSENT("insertAllIfAbsent"),
+        UPDATE("update"),
+        DELETE_BY_ID("deleteById"),
+        DELETE_ALL_BY_ID("deleteAllById");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    enum LockType {
+        MUTATION_GATE("mutation-gate"),
+        MUTATION_GATE_EXCLUSIVE("mutation-gate-exclusive"),
+        ID("id");
+
+        private final String tag;
+
+        LockType(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Destino de una escritura a disco
+     */
+    enum Target {
+        SNAPSHOT("snapshot"),
+        JOURNAL("journal");
+
+        private final String tag;
+
+        Target(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Operation, Timer> operations = new EnumMap<>(Operation.class);
+    private final Map<LockType, Timer> lockWaits = new EnumMap<>(LockType.class);
+    private final Map<LockType, Timer> lockHolds = new EnumMap<>(LockType.class);
+    private final Map<Target, Timer> flushes = new EnumMap<>(Target.class);
+    private final Map<Target, Counter> bytesWritten = new EnumMap<>(Target.class);
+    private final Timer commitWait;
+    private final DistributionSummary flushBatch;
+    private final Timer parse;
+    private final Timer serialize;
+    private final Timer fsync;
+    private final Counter bytesRead;
+
+    JsonDatabaseMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, Timer.builder("bd.operation")
+                    .description("Duración de las operaciones del repositorio JSON")
+                    .tag("operation", operation.tag)
+                    .register(registry));
+        }
+        for (LockType lock : LockType.values()) {
+            lockWaits.put(lock, Timer.builder("bd.lock.wait")
+                    .description("Tiempo esperando un lock")
+                    .tag("lock", lock.tag)
+                    .register(registry));
+            lockHolds.put(lock, Timer.builder("bd.lock.held")
+                    .description("Tiempo reteniendo un lock")
+                    .tag("lock", lock.tag)
+                    .register(registry));
+        }
+        for (Target target : Target.values()) {
+            flushes.put(target, Timer.builder("bd.flush")
+                    .description("Duración de la persistencia de un lote")
+                    .tag("target", target.tag)
+                    .register(registry));
+            bytesWritten.put(target, Counter.builder("bd.bytes.written")
+                    .description("Bytes escritos a disco")
+                    .baseUnit("bytes")
+                    .tag("file", target.tag)
+                    .register(registry));
+        }
+        this.commitWait = Timer.builder("bd.commit.wait")
+                .description("Tiempo que una escritura espera a que su lote sea durable")
+                .register(registry);
+        this.flushBatch = DistributionSummary.builder("bd.flush.batch")
+                .description("Escrituras persistidas por lote")
+                .register(registry);
+        this.parse = Timer.builder("bd.parse")
+                .description("Lectura y deserialización con Gson de bd.json")
+                .register(registry);
+        this.serialize = Timer.builder("bd.serialize")
+                .description("Serialización con Gson y escritura del snapshot")
+                .register(registry);
+        this.fsync = Timer.builder("bd.fsync")
+                .description("Sincronización a disco del snapshot")
+                .register(registry);
+        this.bytesRead = Counter.builder("bd.bytes.read")
+                .description("Bytes leídos de disco")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Registra los gauges de escrituras en cola y tamaño de archivos
+     */
+    void registerGauges(Collection<?> pendingWrites, Path snapshotFile, Path journalFile) {
+        Gauge.builder("bd.pending.writes", pendingWrites, Collection::size)
+                .description("Escrituras aplicadas en memoria pendientes de persistir")
+                .register(registry);
+        Gauge.builder("bd.file.size", snapshotFile, JsonDatabaseMetrics::fileSize)
+                .description("Tamaño del archivo")
+                .baseUnit("bytes")
+                .tag("file", Target.SNAPSHOT.tag)
+                .register(registry);
+        Gauge.builder("bd.file.size", journalFile, JsonDatabaseMetrics::fileSize)
+                .description("Tamaño del archivo")
+                .baseUnit("bytes")
+                .tag("file", Target.JOURNAL.tag)
+                .register(registry);
+    }
+
+    <T> T time(Operation operation, Supplier<T> body) {
+        return operations.get(operation).record(body);
+    }
+
+    /**
+     * Toma el lock registrando el tiempo de espera
+     *
+     * @return Instante (nanoTime) en que se obtuvo el lock, para {@link #unlock}
+     */
+    long lock(Lock lock, LockType type) {
+        long start = System.nanoTime();
+        lock.lock();
+        long acquired = System.nanoTime();
+        lockWaits.get(type).record(acquired - start, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+
+    /**
+     * Libera el lock registrando el tiempo que se retuvo
+     */
+    void unlock(Lock lock, LockType type, long acquired) {
+        lock.unlock();
+        lockHolds.get(type).record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+    }
+
+    void recordCommitWait(long nanos) {
+        commitWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordFlush(Target target, int writes, long nanos) {
+        flushes.get(target).record(nanos, TimeUnit.NANOSECONDS);
+        flushBatch.record(writes);
+    }
+
+    void recordParse(long bytes, long nanos) {
+        parse.record(nanos, TimeUnit.NANOSECONDS);
+        bytesRead.increment(bytes);
+    }
+
+    void recordSerialize(long bytes, long nanos) {
+        serialize.record(nanos, TimeUnit.NANOSECONDS);
+        bytesWritten.get(Target.SNAPSHOT).increment(bytes);
+    }
+
+    void recordFsync(long nanos) {
+        fsync.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordJournalRead(long bytes) {
+        bytesRead.increment(bytes);
+    }
+
+    void recordJournalAppend(long bytes) {
+        bytesWritten.get(Target.JOURNAL).increment(bytes);
+    }
+
+    private static double fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
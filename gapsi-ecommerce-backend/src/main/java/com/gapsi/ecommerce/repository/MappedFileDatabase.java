@@ -0,0 +1,904 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.model.Provider;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Motor de almacenamiento binario de proveedores sobre un archivo mapeado en memoria (FileChannel.map)
+ * Formato del archivo (bd.dat):
+ * - Encabezado de 32 bytes: magic "GPRV", versión del formato, fin de los datos y último ID asignado
+ * - Registros consecutivos con encabezado fijo de 24 bytes: estado (vivo/eliminado), capacidad,
+ *   ID, longitud y CRC32 del contenido, seguido de name, companyName y address (longitud + UTF-8),
+ *   la versión del registro (8 bytes) y espacio libre hasta la capacidad
+ * Los datos viven en el archivo (page cache); en memoria solo se mantienen los índices
+ * ID -> offset, nombre -> ID y el de búsqueda, por lo que findById lee el registro en su offset.
+ * Una modificación se escribe en sitio si cabe en la capacidad del registro; si no, se agrega
+ * un registro nuevo y el anterior se marca como eliminado (tombstone), igual que en una baja.
+ * El espacio de los registros eliminados se recupera al iniciar.
+ * Las escrituras se serializan con un lock; las lecturas son optimistas (StampedLock) y no bloquean.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "database", name = "engine", havingValue = "mapped")
+public class MappedFileDatabase implements ProviderRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileDatabase.class);
+
+    private static final int FILE_MAGIC = 0x47505256;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int FILE_HEADER_SIZE = 32;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int END_OFFSET = 8;
+    private static final int LAST_ID_OFFSET = 16;
+
+    private static final int RECORD_HEADER_SIZE = 24;
+    private static final int STATUS_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int ID_OFFSET = 8;
+    private static final int LENGTH_OFFSET = 16;
+    private static final int CRC_OFFSET = 20;
+
+    private static final byte STATUS_LIVE = 1;
+    private static final byte STATUS_DELETED = 2;
+
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * Espacio muerto mínimo para compactar el archivo al iniciar
+     */
+    private static final long COMPACTION_MIN_DEAD_BYTES = 1024 * 1024;
+
+    /**
+     * Marca en el índice de nombres un nombre reservado por una inserción o un cambio de nombre en curso
+     */
+    private static final Long RESERVED_ID = -1L;
+
+    private final Path path;
+    private final int initialSize;
+
+    /**
+     * Serializa las escrituras y protege la posición de fin de los datos
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Protege las escrituras en sitio frente a lecturas concurrentes del mismo registro
+     */
+    private final StampedLock recordLock = new StampedLock();
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int end;
+
+    /**
+     * Índice principal: ID -> offset del registro vivo, para búsquedas por ID
+     */
+    private final ConcurrentHashMap<Long, Integer> offsetsById = new ConcurrentHashMap<>();
+
+    /**
+     * Índice ordenado por ID: recorridos y paginación por keyset
+     */
+    private final ConcurrentSkipListMap<Long, Integer> offsets = new ConcurrentSkipListMap<>();
+
+    /**
+     * Índice secundario: nombre normalizado -> ID
+     */
+    private final ConcurrentHashMap<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    private ProviderSearchIndex searchIndex = new ProviderSearchIndex();
+
+    private final AtomicLong idSequence = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Offsets de todos los registros vivos en orden de ID, reconstruidos cuando la versión cambia
+     */
+    private volatile OrderedView orderedView;
+
+    private record OrderedView(long version, int[] offsets) {
+    }
+
+    public MappedFileDatabase(DatabaseProperties properties) {
+        this.path = Paths.get(resolvePath(properties));
+        this.initialSize = Math.max(FILE_HEADER_SIZE, properties.getMapped().getInitialSize());
+
+        logger.info("Ruta del archivo de datos binario: {}", path);
+        if (!Files.exists(path)) {
+            migrateFromJson(properties);
+        }
+
+        long deadBytes = load();
+        if (deadBytes > COMPACTION_MIN_DEAD_BYTES && deadBytes > end - deadBytes) {
+            compactFile();
+            load();
+        }
+        logger.info("{} proveedores indexados desde {}", size.get(), path.getFileName());
+    }
+
+    private static String resolvePath(DatabaseProperties properties) {
+        String configured = properties.getMapped().getFilePath();
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String jsonPath = properties.resolveFilePath();
+        return jsonPath.endsWith(".json")
+                ? jsonPath.substring(0, jsonPath.length() - ".json".length()) + ".dat"
+                : jsonPath + ".dat";
+    }
+
+    /**
+     * Retorna todos los proveedores ordenados por ID. La lista decodifica cada registro
+     * al accederlo, por lo que paginar sobre ella solo lee los registros de la página.
+     */
+    @Override
+    public List<Provider> findAll() {
+        long currentVersion = version.get();
+        OrderedView view = orderedView;
+        if (view == null || view.version() != currentVersion) {
+            int[] snapshot = offsets.values().stream().mapToInt(Integer::intValue).toArray();
+            view = new OrderedView(currentVersion, snapshot);
+            orderedView = view;
+        }
+        return new RecordList(view.offsets());
+    }
+
+    @Override
+    public List<Provider> findAfter(Long afterId, int limit) {
+        Map<Long, Integer> tail = afterId != null ? offsets.tailMap(afterId, false) : offsets;
+        return tail.values().stream()
+                .limit(limit)
+                .map(this::read)
+                .toList();
+    }
+
+    @Override
+    public Stream<Provider> streamAll() {
+        return offsets.values().stream().map(this::read);
+    }
+
+    @Override
+    public ProviderSearchResult search(String query, int offset, int limit) {
+        ProviderSearchIndex.Hits hits = searchIndex.search(query, offset, limit);
+        List<Provider> providers = hits.ids().stream()
+                .map(offsetsById::get)
+                .filter(Objects::nonNull)
+                .map(this::read)
+                .toList();
+        return new ProviderSearchResult(hits.totalHits(), providers);
+    }
+
+    /**
+     * Busca varios proveedores por ID leyendo sus registros en el archivo con el lock de escritura,
+     * de modo que ninguna escritura (ni un lote) queda a medias entre los proveedores retornados.
+     *
+     * @param ids IDs de los proveedores
+     * @return Lista inmutable con los proveedores encontrados, en el orden de los IDs
+     */
+    @Override
+    public List<Provider> findAllById(Collection<Long> ids) {
+        List<Provider> found = new ArrayList<>(ids.size());
+        writeLock.lock();
+        try {
+            for (Long id : ids) {
+                Integer offset = id != null ? offsetsById.get(id) : null;
+                if (offset != null) {
+                    found.add(read(offset));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Busca un proveedor por ID leyendo directamente su registro en el archivo
+     */
+    @Override
+    public Optional<Provider> findById(Long id) {
+        return Optional.ofNullable(id).map(offsetsById::get).map(this::read);
+    }
+
+    @Override
+    public Optional<Provider> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(idsByName.get(normalizeName(name)))
+                .filter(id -> !RESERVED_ID.equals(id))
+                .flatMap(this::findById);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return name != null && idsByName.containsKey(normalizeName(name));
+    }
+
+    @Override
+    public Provider save(Provider provider) {
+        writeLock.lock();
+        try {
+            provider.setId(idSequence.incrementAndGet());
+            int offset = append(provider);
+            commit(offset);
+            publish(provider, offset);
+            logger.debug("Proveedor guardado con ID: {}", provider.getId());
+            return provider;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Provider> insertIfAbsent(Provider provider) {
+        String nameKey = normalizeName(provider.getName());
+        if (idsByName.putIfAbsent(nameKey, RESERVED_ID) != null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(save(provider));
+        } catch (RuntimeException e) {
+            idsByName.remove(nameKey, RESERVED_ID);
+            throw e;
+        }
+    }
+
+    /**
+     * Agrega todos los registros del lote y los sincroniza a disco con un solo force
+     */
+    @Override
+    public List<Optional<Provider>> insertAllIfAbsent(List<Provider> batch) {
+        List<Optional<Provider>> results = new ArrayList<>(batch.size());
+        Map<Provider, Integer> inserted = new LinkedHashMap<>();
+
+        writeLock.lock();
+        int firstOffset = end;
+        try {
+            for (Provider provider : batch) {
+                if (idsByName.putIfAbsent(normalizeName(provider.getName()), RESERVED_ID) != null) {
+                    results.add(Optional.empty());
+                    continue;
+                }
+                provider.setId(idSequence.incrementAndGet());
+                inserted.put(provider, append(provider));
+                results.add(Optional.of(provider));
+            }
+
+            if (!inserted.isEmpty()) {
+                commit(firstOffset);
+            }
+            inserted.forEach(this::publish);
+            logger.debug("Lote guardado: {} de {} proveedores", inserted.size(), batch.size());
+            return results;
+        } catch (RuntimeException e) {
+            end = firstOffset;
+            inserted.keySet().forEach(provider -> idsByName.remove(normalizeName(provider.getName()), RESERVED_ID));
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        writeLock.lock();
+        try {
+            Integer offset = id != null ? offsetsById.get(id) : null;
+            if (offset == null) {
+                logger.debug("No se encontró proveedor con ID {}", id);
+                return false;
+            }
+
+            Provider existing = read(offset);
+            markDeleted(offset);
+            offsets.remove(id);
+            offsetsById.remove(id);
+            size.decrementAndGet();
+            unindex(existing);
+            logger.debug("Proveedor con ID {} eliminado", id);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Elimina un lote de proveedores: marca todos sus registros como eliminados y los
+     * sincroniza a disco con un solo force
+     *
+     * @param ids IDs de los proveedores a eliminar
+     * @return Por cada ID, true si se eliminó o false si no existía (o se repite en el lote)
+     */
+    @Override
+    public List<Boolean> deleteAllById(List<Long> ids) {
+        List<Boolean> results = new ArrayList<>(ids.size());
+        writeLock.lock();
+        try {
+            int first = Integer.MAX_VALUE;
+            int last = -1;
+            for (Long id : ids) {
+                Integer offset = id != null ? offsetsById.remove(id) : null;
+                if (offset == null) {
+                    results.add(false);
+                    continue;
+                }
+
+                Provider existing = read(offset);
+                buffer.put(offset + STATUS_OFFSET, STATUS_DELETED);
+                first = Math.min(first, offset);
+                last = Math.max(last, offset);
+                offsets.remove(id);
+                size.decrementAndGet();
+                unindex(existing);
+                results.add(true);
+            }
+
+            if (last >= 0) {
+                force(first + STATUS_OFFSET, last - first + 1);
+            }
+            logger.debug("Lote eliminado: {} de {} proveedores", results.stream().filter(Boolean::booleanValue).count(), ids.size());
+            return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Actualiza un proveedor en sitio si el contenido cabe en la capacidad de su registro;
+     * si no, lo reubica al final del archivo
+     *
+     * @param provider        Proveedor con ID y datos actualizados
+     * @param expectedVersion Versión que debe tener el registro (null para no verificarla)
+     * @return Resultado de la modificación
+     */
+    @Override
+    public ProviderUpdateResult update(Provider provider, Long expectedVersion) {
+        writeLock.lock();
+        try {
+            Integer offset = provider.getId() != null ? offsetsById.get(provider.getId()) : null;
+            if (offset == null) {
+                return ProviderUpdateResult.notFound();
+            }
+
+            Provider existing = read(offset);
+            if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+                return ProviderUpdateResult.versionMismatch(existing);
+            }
+            String nameKey = normalizeName(provider.getName());
+            boolean renamed = !nameKey.equals(normalizeName(existing.getName()));
+            if (renamed && idsByName.putIfAbsent(nameKey, RESERVED_ID) != null) {
+                return ProviderUpdateResult.nameTaken(existing);
+            }
+
+            try {
+                provider.setVersion(existing.getVersion() + 1);
+                byte[] payload = encode(provider);
+                if (payload.length <= buffer.getInt(offset + CAPACITY_OFFSET)) {
+                    overwrite(offset, payload);
+                } else {
+                    int relocated = append(provider);
+                    commit(relocated);
+                    markDeleted(offset);
+                    offsets.put(provider.getId(), relocated);
+                    offsetsById.put(provider.getId(), relocated);
+                }
+            } catch (RuntimeException e) {
+                if (renamed) {
+                    idsByName.remove(nameKey, RESERVED_ID);
+                }
+                throw e;
+            }
+
+            replace(existing, provider);
+            logger.debug("Proveedor con ID {} actualizado a la versión {}", provider.getId(), provider.getVersion());
+            return ProviderUpdateResult.updated(provider);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return size.get();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Sincroniza el archivo y lo libera al detener la aplicación
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Error al cerrar {}", path, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lista inmutable de proveedores que decodifica cada registro al accederlo
+     */
+    private final class RecordList extends AbstractList<Provider> implements RandomAccess {
+        private final int[] recordOffsets;
+
+        private RecordList(int[] recordOffsets) {
+            this.recordOffsets = recordOffsets;
+        }
+
+        @Override
+        public Provider get(int index) {
+            return read(recordOffsets[index]);
+        }
+
+        @Override
+        public int size() {
+            return recordOffsets.length;
+        }
+    }
+
+    private void publish(Provider provider, int offset) {
+        offsets.put(provider.getId(), offset);
+        offsetsById.put(provider.getId(), offset);
+        size.incrementAndGet();
+        index(provider);
+    }
+
+    private void index(Provider provider) {
+        idsByName.put(normalizeName(provider.getName()), provider.getId());
+        searchIndex.add(provider);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Reemplaza un proveedor ya escrito en el archivo en los índices en memoria.
+     * Si el nombre no cambia, su entrada en el índice de nombres no se toca; si cambia, el nombre
+     * nuevo (ya reservado) se publica antes de liberar el anterior, de modo que ninguno de los dos
+     * queda libre para una inserción concurrente.
+     */
+    private void replace(Provider previous, Provider provider) {
+        String previousKey = normalizeName(previous.getName());
+        String nameKey = normalizeName(provider.getName());
+        if (!nameKey.equals(previousKey)) {
+            idsByName.put(nameKey, provider.getId());
+            idsByName.remove(previousKey, provider.getId());
+        }
+
+        searchIndex.remove(previous);
+        searchIndex.add(provider);
+        version.incrementAndGet();
+    }
+
+    private void unindex(Provider provider) {
+        idsByName.remove(normalizeName(provider.getName()), provider.getId());
+        searchIndex.remove(provider);
+        version.incrementAndGet();
+    }
+
+    // ---------------------------------------------------------------------
+    // Lectura y escritura de registros
+    // ---------------------------------------------------------------------
+
+    /**
+     * Lee un registro con lectura optimista; si una escritura en sitio concurrente
+     * la invalida, la repite con el lock de lectura
+     */
+    private Provider read(int offset) {
+        long stamp = recordLock.tryOptimisticRead();
+        try {
+            Provider provider = decode(buffer, offset);
+            if (recordLock.validate(stamp)) {
+                return provider;
+            }
+        } catch (RuntimeException e) {
+            // Registro leído a mitad de una escritura en sitio: se reintenta con el lock
+        }
+
+        stamp = recordLock.readLock();
+        try {
+            return decode(buffer, offset);
+        } finally {
+            recordLock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Agrega un registro al final de los datos sin sincronizarlo. Debe invocarse con el writeLock.
+     *
+     * @return Offset del registro
+     */
+    private int append(Provider provider) {
+        byte[] payload = encode(provider);
+        int capacity = capacityFor(payload.length);
+        int offset = end;
+        long recordEnd = (long) offset + RECORD_HEADER_SIZE + capacity;
+        if (recordEnd > Integer.MAX_VALUE) {
+            throw new IllegalStateException("El archivo " + path + " alcanzó el tamaño máximo de 2 GB");
+        }
+
+        ensureCapacity((int) recordEnd);
+        writeRecord(buffer, offset, provider.getId(), capacity, payload);
+        end = (int) recordEnd;
+        return offset;
+    }
+
+    /**
+     * Sincroniza a disco los registros agregados desde "fromOffset" y después el encabezado,
+     * de modo que un registro nunca queda referenciado por el encabezado antes de ser durable
+     */
+    private void commit(int fromOffset) {
+        try {
+            buffer.force(fromOffset, end - fromOffset);
+            buffer.putLong(END_OFFSET, end);
+            buffer.putLong(LAST_ID_OFFSET, idSequence.get());
+            buffer.force(0, FILE_HEADER_SIZE);
+        } catch (RuntimeException e) {
+            logger.error("Error al escribir en {}", path, e);
+            throw new RuntimeException("Error al escribir en la base de datos", e);
+        }
+    }
+
+    /**
+     * Reescribe el contenido de un registro en sitio y lo sincroniza a disco
+     */
+    private void overwrite(int offset, byte[] payload) {
+        long stamp = recordLock.writeLock();
+        try {
+            buffer.put(offset + RECORD_HEADER_SIZE, payload);
+            buffer.putInt(offset + LENGTH_OFFSET, payload.length);
+            buffer.putInt(offset + CRC_OFFSET, crc(payload));
+        } finally {
+            recordLock.unlockWrite(stamp);
+        }
+        force(offset, RECORD_HEADER_SIZE + payload.length);
+    }
+
+    /**
+     * Marca un registro como eliminado (tombstone) y lo sincroniza a disco
+     */
+    private void markDeleted(int offset) {
+        buffer.put(offset + STATUS_OFFSET, STATUS_DELETED);
+        force(offset + STATUS_OFFSET, 1);
+    }
+
+    private void force(int offset, int length) {
+        try {
+            buffer.force(offset, length);
+        } catch (RuntimeException e) {
+            logger.error("Error al escribir en {}", path, e);
+            throw new RuntimeException("Error al escribir en la base de datos", e);
+        }
+    }
+
+    /**
+     * Amplía el mapeo (y el archivo) al doble cuando el registro no cabe
+     */
+    private void ensureCapacity(int required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long newSize = Math.min(Integer.MAX_VALUE, Math.max(required, (long) buffer.capacity() * 2));
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+        } catch (IOException e) {
+            logger.error("Error al ampliar {}", path, e);
+            throw new RuntimeException("Error al escribir en la base de datos", e);
+        }
+    }
+
+    /**
+     * Capacidad de un registro nuevo: el contenido más un 25% de holgura para
+     * modificaciones en sitio, alineada a 8 bytes
+     */
+    private static int capacityFor(int payloadLength) {
+        int withSlack = payloadLength + payloadLength / 4;
+        return (withSlack + 7) & ~7;
+    }
+
+    private static void writeRecord(ByteBuffer target, int offset, long id, int capacity, byte[] payload) {
+        target.put(offset + STATUS_OFFSET, STATUS_LIVE);
+        target.putInt(offset + CAPACITY_OFFSET, capacity);
+        target.putLong(offset + ID_OFFSET, id);
+        target.putInt(offset + LENGTH_OFFSET, payload.length);
+        target.putInt(offset + CRC_OFFSET, crc(payload));
+        target.put(offset + RECORD_HEADER_SIZE, payload);
+    }
+
+    private static byte[] encode(Provider provider) {
+        byte[] name = bytesOf(provider.getName());
+        byte[] companyName = bytesOf(provider.getCompanyName());
+        byte[] address = bytesOf(provider.getAddress());
+        ByteBuffer payload = ByteBuffer.allocate(12 + lengthOf(name) + lengthOf(companyName) + lengthOf(address) + Long.BYTES);
+        putString(payload, name);
+        putString(payload, companyName);
+        putString(payload, address);
+        payload.putLong(provider.getVersion());
+        return payload.array();
+    }
+
+    private static Provider decode(ByteBuffer source, int offset) {
+        int length = source.getInt(offset + LENGTH_OFFSET);
+        int capacity = source.getInt(offset + CAPACITY_OFFSET);
+        if (length < 0 || length > capacity) {
+            throw new IllegalStateException("Registro inválido en el offset " + offset);
+        }
+
+        int[] position = {offset + RECORD_HEADER_SIZE};
+        int limit = position[0] + length;
+        Provider provider = Provider.builder()
+                .id(source.getLong(offset + ID_OFFSET))
+                .name(getString(source, position, limit))
+                .companyName(getString(source, position, limit))
+                .address(getString(source, position, limit))
+                .build();
+        // Los registros escritos antes de versionarlos no traen la versión
+        if (position[0] + Long.BYTES <= limit) {
+            provider.setVersion(source.getLong(position[0]));
+        }
+        return provider;
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int lengthOf(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static void putString(ByteBuffer target, byte[] value) {
+        target.putInt(value != null ? value.length : NULL_LENGTH);
+        if (value != null) {
+            target.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer source, int[] position, int limit) {
+        int length = source.getInt(position[0]);
+        position[0] += Integer.BYTES;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || position[0] + length > limit) {
+            throw new IllegalStateException("Registro inválido en el offset " + position[0]);
+        }
+        byte[] bytes = new byte[length];
+        source.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // ---------------------------------------------------------------------
+    // Apertura, recuperación, compactación y migración
+    // ---------------------------------------------------------------------
+
+    /**
+     * Mapea el archivo y reconstruye los índices recorriendo sus registros.
+     * Un registro cuyo CRC no coincide (escritura interrumpida) se descarta; si hay dos registros
+     * vivos con el mismo ID (reubicación interrumpida), prevalece el más reciente.
+     *
+     * @return Bytes ocupados por registros eliminados o descartados
+     */
+    private long load() {
+        offsets.clear();
+        offsetsById.clear();
+        idsByName.clear();
+        searchIndex = new ProviderSearchIndex();
+        size.set(0);
+        version.incrementAndGet();
+
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long fileSize = channel.size();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(fileSize, initialSize));
+            if (fileSize == 0) {
+                writeHeader(buffer, FILE_HEADER_SIZE, 0);
+                buffer.force(0, FILE_HEADER_SIZE);
+            }
+        } catch (IOException e) {
+            logger.error("Error al abrir {}", path, e);
+            throw new RuntimeException("Error al leer la base de datos", e);
+        }
+
+        if (buffer.getInt(MAGIC_OFFSET) != FILE_MAGIC || buffer.getInt(VERSION_OFFSET) != FORMAT_VERSION) {
+            throw new IllegalStateException("El archivo " + path + " no es una base de datos de proveedores válida");
+        }
+
+        end = (int) buffer.getLong(END_OFFSET);
+        long lastId = buffer.getLong(LAST_ID_OFFSET);
+        long deadBytes = 0;
+        int offset = FILE_HEADER_SIZE;
+        while (offset < end) {
+            int capacity = buffer.getInt(offset + CAPACITY_OFFSET);
+            long recordEnd = (long) offset + RECORD_HEADER_SIZE + capacity;
+            if (capacity < 0 || recordEnd > end) {
+                logger.error("Registro truncado en el offset {} de {}; se descartan los datos siguientes", offset, path);
+                end = offset;
+                break;
+            }
+
+            long id = buffer.getLong(offset + ID_OFFSET);
+            lastId = Math.max(lastId, id);
+            if (buffer.get(offset + STATUS_OFFSET) == STATUS_LIVE && isIntact(offset)) {
+                Integer previous = offsets.put(id, offset);
+                if (previous != null) {
+                    markDeleted(previous);
+                    deadBytes += RECORD_HEADER_SIZE + buffer.getInt(previous + CAPACITY_OFFSET);
+                }
+            } else {
+                deadBytes += recordEnd - offset;
+            }
+            offset = (int) recordEnd;
+        }
+
+        offsetsById.putAll(offsets);
+        for (Integer recordOffset : offsets.values()) {
+            Provider provider = decode(buffer, recordOffset);
+            size.incrementAndGet();
+            index(provider);
+        }
+        idSequence.set(lastId);
+        return deadBytes;
+    }
+
+    private boolean isIntact(int offset) {
+        int length = buffer.getInt(offset + LENGTH_OFFSET);
+        if (length < 0 || length > buffer.getInt(offset + CAPACITY_OFFSET)) {
+            return false;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + RECORD_HEADER_SIZE, payload);
+        if (crc(payload) != buffer.getInt(offset + CRC_OFFSET)) {
+            logger.error("Registro con ID {} dañado (CRC inválido) en {}; se descarta",
+                    buffer.getLong(offset + ID_OFFSET), path);
+            return false;
+        }
+        return true;
+    }
+
+    private static void writeHeader(ByteBuffer target, long endOfData, long lastId) {
+        target.putInt(MAGIC_OFFSET, FILE_MAGIC);
+        target.putInt(VERSION_OFFSET, FORMAT_VERSION);
+        target.putLong(END_OFFSET, endOfData);
+        target.putLong(LAST_ID_OFFSET, lastId);
+    }
+
+    /**
+     * Reescribe el archivo solo con los registros vivos para recuperar el espacio de los eliminados
+     */
+    private void compactFile() {
+        logger.info("Compactando {}: {} proveedores", path, offsets.size());
+        long lastId = idSequence.get();
+        writeFile(path, offsets.values().stream().map(this::read), lastId);
+    }
+
+    /**
+     * Migra una sola vez los proveedores de bd.json (y su journal) al formato binario
+     */
+    private void migrateFromJson(DatabaseProperties properties) {
+        Path jsonPath = Paths.get(properties.resolveFilePath());
+        Path journalPath = Paths.get(jsonPath + ".journal");
+        if (!Files.exists(jsonPath) && !Files.exists(journalPath)) {
+            return;
+        }
+
+        logger.info("Migrando {} al formato binario {}", jsonPath, path);
+        JsonDatabase source = new JsonDatabase(properties);
+        try (Stream<Provider> providers = source.streamAll()) {
+            writeFile(path, providers, 0);
+        } finally {
+            source.close();
+        }
+        logger.info("Migración completada; {} se conserva como respaldo", jsonPath.getFileName());
+    }
+
+    /**
+     * Escribe un archivo binario completo en un temporal, lo sincroniza y lo renombra
+     * sobre el destino, de modo que una interrupción nunca deja un archivo a medias
+     */
+    private static void writeFile(Path target, Stream<Provider> providers, long lastId) {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] position = {FILE_HEADER_SIZE};
+            long[] maxId = {lastId};
+            providers.forEach(provider -> {
+                byte[] payload = encode(provider);
+                int capacity = capacityFor(payload.length);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + capacity);
+                writeRecord(record, 0, provider.getId(), capacity, payload);
+                try {
+                    position[0] += writeFully(out, record, position[0]);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                maxId[0] = Math.max(maxId[0], provider.getId());
+            });
+            if (position[0] > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Los datos exceden el tamaño máximo de 2 GB del archivo binario");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            writeHeader(header, position[0], maxId[0]);
+            writeFully(out, header, 0);
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error al escribir {}", temp, e);
+            throw new RuntimeException("Error al escribir en la base de datos", e);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Error al reemplazar {}", target, e);
+            throw new RuntimeException("Error al escribir en la base de datos", e);
+        }
+    }
+
+    private static int writeFully(FileChannel out, ByteBuffer data, long position) throws IOException {
+        int written = 0;
+        while (data.hasRemaining()) {
+            written += out.write(data, position + written);
+        }
+        return written;
+    }
+}
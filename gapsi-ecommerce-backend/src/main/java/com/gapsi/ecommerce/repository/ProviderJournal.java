@@ -0,0 +1,239 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.model.Provider;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Journal append-only (write-ahead log) de mutaciones de proveedores
+ * Cada mutación se escribe como una línea JSON compacta y se sincroniza a disco,
+ * de modo que el costo de escritura es proporcional al registro y no a la base de datos.
+ * Al iniciar, el journal se reproduce sobre el snapshot bd.json.
+ * No es thread-safe: el llamador debe serializar el acceso.
+ */
+public class ProviderJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderJournal.class);
+
+    /**
+     * Tipos de mutación registrados en el journal
+     */
+    public enum Operation {
+        SAVE, UPDATE, DELETE
+    }
+
+    /**
+     * Registro del journal. SAVE y UPDATE llevan el proveedor completo; DELETE solo el ID.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Operation op;
+        private Long id;
+        private Provider provider;
+
+        public static Entry save(Provider provider) {
+            return new Entry(Operation.SAVE, provider.getId(), provider);
+        }
+
+        public static Entry update(Provider provider) {
+            return new Entry(Operation.UPDATE, provider.getId(), provider);
+        }
+
+        public static Entry delete(Long id) {
+            return new Entry(Operation.DELETE, id, null);
+        }
+    }
+
+    private final Path path;
+    private final Gson gson;
+    private FileChannel channel;
+    private int recordCount;
+    private long lastId;
+
+    public ProviderJournal(Path path) {
+        this.path = path;
+        this.gson = new Gson();
+    }
+
+    /**
+     * Reproduce el journal sobre el estado cargado del snapshot.
+     * Las operaciones son idempotentes, por lo que reproducir registros ya incluidos
+     * en el snapshot (p. ej. tras una compactación interrumpida) no altera el resultado.
+     * Una última línea incompleta (escritura interrumpida) se descarta y se trunca.
+     *
+     * @param providersById Estado a actualizar, indexado por ID
+     * @return Número de registros reproducidos
+     */
+    public int replay(Map<Long, Provider> providersById) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        try {
+            byte[] content = Files.readAllBytes(path);
+            int replayed = 0;
+            int lineStart = 0;
+
+            for (int i = 0; i < content.length; i++) {
+                if (content[i] != '\n') {
+                    continue;
+                }
+                String line = new String(content, lineStart, i - lineStart, StandardCharsets.UTF_8);
+                lineStart = i + 1;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Entry entry;
+                try {
+                    entry = gson.fromJson(line, Entry.class);
+                } catch (JsonParseException e) {
+                    throw new IllegalStateException("Registro corrupto en el journal " + path + ": " + line, e);
+                }
+                apply(entry, providersById);
+                lastId = Math.max(lastId, entry.getId());
+                replayed++;
+            }
+
+            if (lineStart < content.length) {
+                logger.warn("Descartando registro incompleto al final del journal ({} bytes)",
+                        content.length - lineStart);
+                try (FileChannel truncating = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    truncating.truncate(lineStart);
+                    truncating.force(true);
+                }
+            }
+
+            recordCount = replayed;
+            return replayed;
+        } catch (IOException e) {
+            logger.error("Error al leer el journal {}", path, e);
+            throw new RuntimeException("Error al leer el journal de la base de datos", e);
+        }
+    }
+
+    /**
+     * Agrega registros al final del journal con una sola escritura y los sincroniza a disco.
+     * Si la escritura o la sincronización fallan, el journal se trunca a su tamaño previo:
+     * el llamador revierte la escritura en memoria y el journal no debe conservarla
+     * (ni completa, que la reviviría al iniciar, ni a medias, que lo dejaría corrupto).
+     *
+     * @param entries Registros a agregar
+     * @return Bytes escritos
+     */
+    public int append(List<Entry> entries) {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(gson.toJson(entry)).append('\n');
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        FileChannel out;
+        long start;
+        try {
+            out = channel();
+            start = out.position();
+        } catch (IOException e) {
+            logger.error("Error al abrir el journal {}", path, e);
+            throw new RuntimeException("Error al escribir en el journal de la base de datos", e);
+        }
+
+        try {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+            recordCount += entries.size();
+            return buffer.capacity();
+        } catch (IOException e) {
+            logger.error("Error al escribir en el journal {}", path, e);
+            discardFrom(out, start, e);
+            throw new RuntimeException("Error al escribir en el journal de la base de datos", e);
+        }
+    }
+
+    /**
+     * Descarta lo escrito desde la posición dada tras una escritura fallida
+     */
+    private void discardFrom(FileChannel out, long position, IOException cause) {
+        try {
+            out.truncate(position);
+            out.position(position);
+            out.force(true);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            logger.error("No se pudo truncar el journal {} a {} bytes; puede conservar escrituras revertidas",
+                    path, position, e);
+        }
+    }
+
+    /**
+     * Vacía el journal. Se invoca después de escribir un snapshot que ya incluye sus registros.
+     */
+    public void reset() {
+        try {
+            FileChannel out = channel();
+            out.truncate(0);
+            out.force(true);
+            recordCount = 0;
+        } catch (IOException e) {
+            logger.error("Error al vaciar el journal {}", path, e);
+            throw new RuntimeException("Error al compactar el journal de la base de datos", e);
+        }
+    }
+
+    /**
+     * @return Mayor ID registrado en el journal al reproducirlo, incluidos los IDs eliminados
+     */
+    public long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return Registros acumulados desde la última compactación
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        return channel;
+    }
+
+    private static void apply(Entry entry, Map<Long, Provider> providersById) {
+        switch (entry.getOp()) {
+            case SAVE, UPDATE -> providersById.put(entry.getProvider().getId(), entry.getProvider());
+            case DELETE -> providersById.remove(entry.getId());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.model.Provider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de proveedores
+ * Patrón: Repository Pattern
+ * El motor de almacenamiento se elige por configuración (database.engine): json, mapped, memory o h2.
+ */
+public interface ProviderRepository {
+
+    /**
+     * Retorna todos los proveedores ordenados por ID
+     *
+     * @return Lista inmutable de proveedores
+     */
+    List<Provider> findAll();
+
+    /**
+     * Retorna hasta "limit" proveedores con ID mayor a "afterId", ordenados por ID
+     *
+     * @param afterId Último ID recibido por el cliente (null para iniciar desde el principio)
+     * @param limit   Número máximo de proveedores
+     * @return Lista de proveedores
+     */
+    List<Provider> findAfter(Long afterId, int limit);
+
+    /**
+     * Recorre todos los proveedores ordenados por ID sin cargarlos en una lista.
+     * El stream debe cerrarse al terminar.
+     *
+     * @return Stream de proveedores
+     */
+    Stream<Provider> streamAll();
+
+    /**
+     * Busca proveedores por texto o prefijo en name, companyName y address
+     *
+     * @param query  Texto de búsqueda
+     * @param offset Posición del primer resultado
+     * @param limit  Número máximo de resultados
+     * @return Total de coincidencias y proveedores de la página, en orden de relevancia
+     */
+    ProviderSearchResult search(String query, int offset, int limit);
+
+    /**
+     * Busca un proveedor por ID
+     *
+     * @param id ID del proveedor
+     * @return Optional con el proveedor si existe
+     */
+    Optional<Provider> findById(Long id);
+
+    /**
+     * Busca varios proveedores por ID en una sola operación y sobre un mismo estado de los datos:
+     * una escritura concurrente (incluido un lote completo) se ve completa o no se ve
+     *
+     * @param ids IDs de los proveedores (sin repetidos)
+     * @return Proveedores existentes, en el orden de los IDs recibidos
+     */
+    List<Provider> findAllById(Collection<Long> ids);
+
+    /**
+     * Busca un proveedor por nombre (case-insensitive)
+     *
+     * @param name Nombre del proveedor
+     * @return Optional con el proveedor si existe
+     */
+    Optional<Provider> findByName(String name);
+
+    /**
+     * Verifica si existe un proveedor con el nombre dado (case-insensitive)
+     *
+     * @param name Nombre a verificar
+     * @return true si existe, false en caso contrario
+     */
+    boolean existsByName(String name);
+
+    /**
+     * Guarda un nuevo proveedor asignándole un ID
+     * Los IDs nunca se reutilizan, tampoco tras reiniciar un motor persistente (aunque se haya eliminado el de ID más alto).
+     *
+     * @param provider Proveedor a guardar
+     * @return Proveedor guardado con ID asignado
+     */
+    Provider save(Provider provider);
+
+    /**
+     * Guarda un nuevo proveedor solo si no existe otro con el mismo nombre (case-insensitive).
+     * Dos inserciones concurrentes con el mismo nombre nunca pueden ganar ambas.
+     *
+     * @param provider Proveedor a guardar
+     * @return Proveedor guardado con ID asignado, o vacío si el nombre ya existe
+     */
+    Optional<Provider> insertIfAbsent(Provider provider);
+
+    /**
+     * Guarda un lote de proveedores omitiendo los nombres que ya existen, ya sea en el
+     * repositorio o en un elemento anterior del mismo lote, con una sola escritura durable
+     *
+     * @param batch Proveedores a guardar
+     * @return Por cada elemento del lote, el proveedor guardado o vacío si el nombre ya existía
+     */
+    List<Optional<Provider>> insertAllIfAbsent(List<Provider> batch);
+
+    /**
+     * Elimina un proveedor por ID
+     *
+     * @param id ID del proveedor a eliminar
+     * @return true si se eliminó, false si no existía
+     */
+    boolean deleteById(Long id);
+
+    /**
+     * Elimina un lote de proveedores con una sola escritura durable, en tiempo proporcional al lote
+     *
+     * @param ids IDs de los proveedores a eliminar
+     * @return Por cada ID, true si se eliminó o false si no existía (o se repite en el lote)
+     */
+    List<Boolean> deleteAllById(List<Long> ids);
+
+    /**
+     * Actualiza un proveedor existente sin verificar su versión.
+     * Debe recibir una instancia nueva: las instancias retornadas por las consultas
+     * no deben modificarse en sitio.
+     *
+     * @param provider Proveedor con datos actualizados
+     * @return Proveedor actualizado
+     */
+    default Provider update(Provider provider) {
+        ProviderUpdateResult result = update(provider, null);
+        return switch (result.status()) {
+            case UPDATED -> result.provider();
+            case NOT_FOUND -> throw new RuntimeException("Proveedor no encontrado con ID: " + provider.getId());
+            case NAME_TAKEN -> throw new RuntimeException("Ya existe un proveedor con el nombre: " + provider.getName());
+            case VERSION_MISMATCH -> throw new IllegalStateException("Versión inesperada del proveedor con ID: " + provider.getId());
+        };
+    }
+
+    /**
+     * Actualiza un proveedor existente solo si su versión actual es la esperada (control de
+     * concurrencia optimista). La verificación y la escritura son atómicas por registro: dos
+     * modificaciones concurrentes con la misma versión esperada nunca pueden ganar ambas.
+     * Al aplicarse, la versión del registro aumenta en uno; el nuevo nombre no puede coincidir
+     * (case-insensitive) con el de otro proveedor.
+     * Debe recibir una instancia nueva: las instancias retornadas por las consultas
+     * no deben modificarse en sitio.
+     *
+     * @param provider        Proveedor con ID y datos actualizados
+     * @param expectedVersion Versión que debe tener el registro (null para no verificarla)
+     * @return Resultado de la modificación
+     */
+    ProviderUpdateResult update(Provider provider, Long expectedVersion);
+
+    /**
+     * Cuenta el total de proveedores
+     *
+     * @return Total de proveedores
+     */
+    long count();
+
+    /**
+     * Versión de los datos: aumenta con cada alta, modificación o baja y no cambia con las lecturas
+     *
+     * @return Versión actual de los datos
+     */
+    long version();
+
+    /**
+     * Persiste lo pendiente y libera los recursos del repositorio
+     */
+    void close();
+}
@@ -0,0 +1,435 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.model.Provider;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para búsqueda de texto y por prefijo (type-ahead)
+ * sobre name, companyName y address
+ * Cada campo tiene un diccionario ordenado de términos (los prefijos se resuelven como
+ * rangos del diccionario) y cada término una lista ordenada y compacta de IDs (int[]).
+ * Se actualiza de forma incremental en cada alta, modificación o baja.
+ */
+public class ProviderSearchIndex {
+
+    /**
+     * Máximo de términos considerados en una consulta; los siguientes se ignoran
+     */
+    private static final int MAX_QUERY_TERMS = 8;
+
+    /**
+     * Longitud mínima de un término: las palabras más cortas no se indexan ni se buscan,
+     * por lo que una consulta que solo tiene palabras de un carácter no retorna resultados
+     */
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Campos indexados con su peso en el ranking
+     */
+    private enum Field {
+        NAME(3, Provider::getName),
+        COMPANY_NAME(2, Provider::getCompanyName),
+        ADDRESS(1, Provider::getAddress);
+
+        private final int weight;
+        private final Function<Provider, String> extractor;
+
+        Field(int weight, Function<Provider, String> extractor) {
+            this.weight = weight;
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * Resultado de una búsqueda: total de coincidencias e IDs de la página solicitada en orden de relevancia
+     */
+    public record Hits(int totalHits, List<Long> ids) {
+    }
+
+    private final Map<Field, NavigableMap<String, Postings>> dictionaries = new EnumMap<>(Field.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProviderSearchIndex() {
+        for (Field field : Field.values()) {
+            dictionaries.put(field, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Agrega un proveedor al índice
+     */
+    public void add(Provider provider) {
+        lock.writeLock().lock();
+        try {
+            for (Field field : Field.values()) {
+                add(field, provider);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un lote de proveedores de una vez (carga inicial). El diccionario de cada campo
+     * se construye en su propia tarea del executor: los diccionarios son independientes entre sí.
+     *
+     * @param providers Proveedores a agregar
+     * @param executor  Executor de las tareas (un executor directo construye los campos en secuencia)
+     */
+    public void addAll(Collection<Provider> providers, Executor executor) {
+        lock.writeLock().lock();
+        try {
+            CompletableFuture.allOf(Arrays.stream(Field.values())
+                    .map(field -> CompletableFuture.runAsync(() -> addAll(field, providers), executor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addAll(Field field, Collection<Provider> providers) {
+        for (Provider provider : providers) {
+            add(field, provider);
+        }
+    }
+
+    private void add(Field field, Provider provider) {
+        int docId = docId(provider);
+        NavigableMap<String, Postings> dictionary = dictionaries.get(field);
+        for (String token : tokenize(field.extractor.apply(provider))) {
+            dictionary.computeIfAbsent(token, key -> new Postings()).add(docId);
+        }
+    }
+
+    /**
+     * Quita un proveedor del índice. Debe recibir la misma instancia (o contenido) que se indexó.
+     */
+    public void remove(Provider provider) {
+        int docId = docId(provider);
+        lock.writeLock().lock();
+        try {
+            for (Field field : Field.values()) {
+                NavigableMap<String, Postings> dictionary = dictionaries.get(field);
+                for (String token : tokenize(field.extractor.apply(provider))) {
+                    Postings postings = dictionary.get(token);
+                    if (postings != null && postings.remove(docId) && postings.size == 0) {
+                        dictionary.remove(token);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca proveedores cuyo name, companyName o address contengan todos los términos
+     * de la consulta, tratando cada término como prefijo. El ranking suma, por término,
+     * el mayor peso de campo en el que coincide (name > companyName > address), duplicado
+     * si la coincidencia es exacta; los empates se ordenan por ID.
+     * Cada prefijo se expande a todos los términos del diccionario que lo comparten, de modo que
+     * el total de coincidencias es exacto. Se consideran los primeros MAX_QUERY_TERMS términos
+     * de la consulta con al menos MIN_TOKEN_LENGTH caracteres.
+     *
+     * @param query  Texto de búsqueda
+     * @param offset Posición del primer resultado
+     * @param limit  Número máximo de resultados
+     * @return Total de coincidencias e IDs de la página
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> terms = tokenize(query).stream().limit(MAX_QUERY_TERMS).toList();
+        if (terms.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Match>> termMatches = new ArrayList<>();
+            for (String term : terms) {
+                List<Match> matches = resolve(term);
+                if (matches.isEmpty()) {
+                    return new Hits(0, List.of());
+                }
+                termMatches.add(matches);
+            }
+
+            // El término más selectivo define los candidatos; el resto solo se consulta por búsqueda binaria
+            termMatches.sort(Comparator.comparingLong(ProviderSearchIndex::totalPostings));
+            Candidates candidates = materialize(termMatches.get(0));
+            for (int t = 1; t < termMatches.size() && candidates.size > 0; t++) {
+                candidates.retainMatching(termMatches.get(t));
+            }
+
+            return new Hits(candidates.size, candidates.page(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Predicado con las mismas reglas de coincidencia que search (cada término de la consulta es
+     * prefijo de algún término de name, companyName o address), evaluado sobre el proveedor y no
+     * sobre el índice, para recorridos que no deben depender de él (p. ej. la eliminación por filtro).
+     * Una consulta sin términos no coincide con ningún proveedor.
+     *
+     * @param query Texto de búsqueda
+     * @return Predicado que indica si un proveedor coincide con la consulta
+     */
+    public static Predicate<Provider> matcher(String query) {
+        List<String> terms = tokenize(query).stream().limit(MAX_QUERY_TERMS).toList();
+        if (terms.isEmpty()) {
+            return provider -> false;
+        }
+        return provider -> {
+            List<String> tokens = new ArrayList<>();
+            for (Field field : Field.values()) {
+                tokens.addAll(tokenize(field.extractor.apply(provider)));
+            }
+            for (String term : terms) {
+                if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Normaliza un texto en términos: minúsculas, sin acentos y separado por caracteres no alfanuméricos
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        StringBuilder token = new StringBuilder();
+        boolean ascii = true;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK) {
+                token.append(c);
+                ascii &= c < 128;
+            } else if (!token.isEmpty()) {
+                addToken(tokens, token.toString(), ascii);
+                token.setLength(0);
+                ascii = true;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(Set<String> tokens, String token, boolean ascii) {
+        String normalized = ascii
+                ? token
+                : DIACRITICS.matcher(Normalizer.normalize(token, Normalizer.Form.NFD)).replaceAll("");
+        if (normalized.length() >= MIN_TOKEN_LENGTH) {
+            tokens.add(normalized.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static int docId(Provider provider) {
+        return Math.toIntExact(provider.getId());
+    }
+
+    /**
+     * Lista de IDs de un término en un campo con el puntaje que aporta
+     */
+    private record Match(int[] ids, int size, int score) {
+    }
+
+    /**
+     * Resuelve un término de la consulta a las listas de IDs de todos los términos que coinciden
+     * por prefijo en cada campo
+     */
+    private List<Match> resolve(String term) {
+        List<Match> matches = new ArrayList<>();
+        for (Field field : Field.values()) {
+            NavigableMap<String, Postings> range = dictionaries.get(field)
+                    .subMap(term, true, term + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Postings> entry : range.entrySet()) {
+                boolean exact = entry.getKey().equals(term);
+                Postings postings = entry.getValue();
+                matches.add(new Match(postings.ids, postings.size, field.weight * (exact ? 2 : 1)));
+            }
+        }
+        return matches;
+    }
+
+    private static long totalPostings(List<Match> matches) {
+        long total = 0;
+        for (Match match : matches) {
+            total += match.size();
+        }
+        return total;
+    }
+
+    /**
+     * Une las listas de un término en un arreglo ordenado de candidatos con su mejor puntaje
+     */
+    private static Candidates materialize(List<Match> matches) {
+        long[] packed = new long[(int) totalPostings(matches)];
+        int n = 0;
+        for (Match match : matches) {
+            for (int i = 0; i < match.size(); i++) {
+                packed[n++] = ((long) match.ids()[i] << 8) | match.score();
+            }
+        }
+        Arrays.sort(packed);
+
+        // Para un mismo ID los puntajes quedan en orden ascendente: se conserva el último
+        int[] ids = new int[n];
+        int[] scores = new int[n];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            int id = (int) (packed[i] >>> 8);
+            int score = (int) (packed[i] & 0xFF);
+            if (size > 0 && ids[size - 1] == id) {
+                scores[size - 1] = score;
+            } else {
+                ids[size] = id;
+                scores[size] = score;
+                size++;
+            }
+        }
+        return new Candidates(ids, scores, size);
+    }
+
+    /**
+     * Candidatos de una búsqueda ordenados por ID, con su puntaje acumulado
+     */
+    private static final class Candidates {
+        private final int[] ids;
+        private final int[] scores;
+        private int size;
+
+        private Candidates(int[] ids, int[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        /**
+         * Conserva solo los candidatos que coinciden con el término y acumula su mejor puntaje.
+         * Según el costo estimado, busca cada candidato en las listas del término (búsqueda binaria)
+         * o une las listas del término y las intersecta con los candidatos (merge).
+         */
+        private void retainMatching(List<Match> matches) {
+            long postings = totalPostings(matches);
+            long binarySearchCost = (long) size * matches.size() * (64 - Long.numberOfLeadingZeros(postings + 1));
+            if (binarySearchCost > postings * 4) {
+                mergeWith(materialize(matches));
+                return;
+            }
+
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int best = 0;
+                for (Match match : matches) {
+                    if (match.score() > best && Arrays.binarySearch(match.ids(), 0, match.size(), ids[i]) >= 0) {
+                        best = match.score();
+                    }
+                }
+                if (best > 0) {
+                    ids[kept] = ids[i];
+                    scores[kept] = scores[i] + best;
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        private void mergeWith(Candidates other) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; i++) {
+                while (j < other.size && other.ids[j] < ids[i]) {
+                    j++;
+                }
+                if (j < other.size && other.ids[j] == ids[i]) {
+                    ids[kept] = ids[i];
+                    scores[kept] = scores[i] + other.scores[j];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Ordena por puntaje descendente (y por ID en empates) y retorna la página solicitada
+         */
+        private List<Long> page(int offset, int limit) {
+            if (offset >= size || limit <= 0) {
+                return List.of();
+            }
+            long[] ranked = new long[size];
+            for (int i = 0; i < size; i++) {
+                ranked[i] = ((long) (Integer.MAX_VALUE - scores[i]) << 32) | ids[i];
+            }
+            Arrays.sort(ranked);
+
+            int end = (int) Math.min((long) offset + limit, size);
+            List<Long> page = new ArrayList<>(end - offset);
+            for (int i = offset; i < end; i++) {
+                page.add(ranked[i] & 0xFFFFFFFFL);
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs de un término. Las altas nuevas tienen IDs crecientes,
+     * por lo que normalmente se agregan al final en O(1) amortizado.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void add(int id) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                return;
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.model.Provider;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una búsqueda de proveedores, en orden de relevancia
+ *
+ * @param totalHits Total de proveedores que coinciden con la consulta
+ * @param providers Proveedores de la página solicitada
+ */
+public record ProviderSearchResult(long totalHits, List<Provider> providers) {
+}
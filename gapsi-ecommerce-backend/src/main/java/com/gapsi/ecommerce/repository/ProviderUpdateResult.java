@@ -0,0 +1,36 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.model.Provider;
+
+/**
+ * Resultado de una modificación condicionada a la versión del registro
+ *
+ * @param status   Resultado de la modificación
+ * @param provider Proveedor actualizado si se aplicó; el registro vigente si la versión no coincidió
+ *                 o el nombre ya existía; null si no existe
+ */
+public record ProviderUpdateResult(Status status, Provider provider) {
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        VERSION_MISMATCH,
+        NAME_TAKEN
+    }
+
+    public static ProviderUpdateResult updated(Provider provider) {
+        return new ProviderUpdateResult(Status.UPDATED, provider);
+    }
+
+    public static ProviderUpdateResult notFound() {
+        return new ProviderUpdateResult(Status.NOT_FOUND, null);
+    }
+
+    public static ProviderUpdateResult versionMismatch(Provider current) {
+        return new ProviderUpdateResult(Status.VERSION_MISMATCH, current);
+    }
+
+    public static ProviderUpdateResult nameTaken(Provider current) {
+        return new ProviderUpdateResult(Status.NAME_TAKEN, current);
+    }
+}
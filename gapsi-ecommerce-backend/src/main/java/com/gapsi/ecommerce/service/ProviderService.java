@@ -1,9 +1,17 @@
 package com.gapsi.ecommerce.service;
 
+import com.gapsi.ecommerce.dto.BulkDeleteRequest;
+import com.gapsi.ecommerce.dto.BulkDeleteResponse;
+import com.gapsi.ecommerce.dto.BulkImportResponse;
+import com.gapsi.ecommerce.dto.CursorProviderResponse;
 import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.dto.ProviderBatchGetResponse;
 import com.gapsi.ecommerce.dto.ProviderRequestDto;
 import com.gapsi.ecommerce.dto.ProviderResponseDto;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Servicio para gestionar operaciones de negocio de proveedores
  */
@@ -18,6 +26,33 @@ public interface ProviderService {
      */
     PagedProviderResponse findAllPaginated(int page, int size);
 
+    /**
+     * Busca proveedores por texto o prefijo en nombre, empresa y dirección
+     *
+     * @param query Texto de búsqueda (cada palabra se trata como prefijo)
+     * @param page  Número de página (base 0)
+     * @param size  Tamaño de página
+     * @return Respuesta paginada con los proveedores en orden de relevancia
+     */
+    PagedProviderResponse search(String query, int page, int size);
+
+    /**
+     * Obtiene una página de proveedores por cursor (keyset)
+     *
+     * @param after Último ID de la página anterior (null para la primera página)
+     * @param limit Tamaño de página
+     * @return Respuesta con los proveedores y el cursor de la página siguiente
+     */
+    CursorProviderResponse findAfter(Long after, int limit);
+
+    /**
+     * Recorre todos los proveedores en orden de ID sin cargarlos en una lista,
+     * para exportaciones masivas en streaming
+     *
+     * @param consumer Receptor de cada proveedor
+     */
+    void exportAll(Consumer<ProviderResponseDto> consumer);
+
     /**
      * Crea un nuevo proveedor
      *
@@ -26,6 +61,38 @@ public interface ProviderService {
      */
     ProviderResponseDto createProvider(ProviderRequestDto requestDto);
 
+    /**
+     * Crea un lote de proveedores validando cada elemento y persistiendo todo con una sola escritura.
+     * Los elementos inválidos o con nombre duplicado (en el lote o en la base) se reportan sin
+     * interrumpir el resto del lote.
+     *
+     * @param requests Datos de los proveedores; un elemento null representa un registro ilegible
+     * @return Resumen y resultado por elemento
+     */
+    BulkImportResponse importProviders(List<ProviderRequestDto> requests);
+
+    /**
+     * Reemplaza los datos de un proveedor
+     *
+     * @param id              ID del proveedor
+     * @param requestDto      Datos nuevos del proveedor
+     * @param expectedVersion Versión que debe tener el proveedor (If-Match); null para no verificarla
+     * @return Proveedor actualizado con su nueva versión
+     */
+    ProviderResponseDto updateProvider(Long id, ProviderRequestDto requestDto, Long expectedVersion);
+
+    /**
+     * Modifica solo los campos no nulos de un proveedor; el resultado se valida con las mismas
+     * reglas que la creación. Sin versión esperada, los cambios se aplican sobre la versión leída
+     * y se reintentan si otro cliente la modificó entretanto, sin perder su modificación.
+     *
+     * @param id              ID del proveedor
+     * @param changes         Campos a modificar (los nulos conservan su valor)
+     * @param expectedVersion Versión que debe tener el proveedor (If-Match); null para no verificarla
+     * @return Proveedor actualizado con su nueva versión
+     */
+    ProviderResponseDto patchProvider(Long id, ProviderRequestDto changes, Long expectedVersion);
+
     /**
      * Elimina un proveedor por ID
      *
@@ -33,6 +100,15 @@ public interface ProviderService {
      */
     void deleteProvider(Long id);
 
+    /**
+     * Elimina un lote de proveedores, por lista de IDs o por filtro de búsqueda, con una sola
+     * escritura durable. Los IDs que no existen se reportan sin interrumpir el resto del lote.
+     *
+     * @param request IDs a eliminar o texto de búsqueda de los proveedores a eliminar
+     * @return Resumen y resultado por ID
+     */
+    BulkDeleteResponse deleteProviders(BulkDeleteRequest request);
+
     /**
      * Busca un proveedor por ID
      *
@@ -40,4 +116,21 @@ public interface ProviderService {
      * @return Proveedor encontrado
      */
     ProviderResponseDto findById(Long id);
+
+    /**
+     * Busca varios proveedores por ID en una sola operación, leídos de un mismo estado de los datos
+     * Los IDs repetidos se resuelven una sola vez.
+     *
+     * @param ids IDs de los proveedores
+     * @return Proveedores encontrados e IDs que no existen, en el orden solicitado
+     */
+    ProviderBatchGetResponse findByIds(List<Long> ids);
+
+    /**
+     * Versión actual de los datos, para validar cachés HTTP (ETag)
+     * Cambia con cada alta, modificación o baja y es distinta en cada arranque de la aplicación.
+     *
+     * @return Versión de los datos
+     */
+    String getDataVersion();
 }
@@ -1,19 +1,43 @@
 package com.gapsi.ecommerce.service;
 
+import com.gapsi.ecommerce.dto.BulkDeleteItemResult;
+import com.gapsi.ecommerce.dto.BulkDeleteRequest;
+import com.gapsi.ecommerce.dto.BulkDeleteResponse;
+import com.gapsi.ecommerce.dto.BulkImportItemResult;
+import com.gapsi.ecommerce.dto.BulkImportResponse;
+import com.gapsi.ecommerce.dto.CursorProviderResponse;
 import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.dto.ProviderBatchGetResponse;
 import com.gapsi.ecommerce.dto.ProviderRequestDto;
 import com.gapsi.ecommerce.dto.ProviderResponseDto;
+import com.gapsi.ecommerce.exceptions.BatchTooLargeException;
 import com.gapsi.ecommerce.exceptions.DuplicateProviderException;
+import com.gapsi.ecommerce.exceptions.InvalidProviderException;
 import com.gapsi.ecommerce.exceptions.ProviderNotFoundException;
+import com.gapsi.ecommerce.exceptions.ProviderVersionMismatchException;
 import com.gapsi.ecommerce.mapper.ProviderMapper;
 import com.gapsi.ecommerce.model.Provider;
-import com.gapsi.ecommerce.repository.JsonDatabase;
+import com.gapsi.ecommerce.repository.ProviderRepository;
+import com.gapsi.ecommerce.repository.ProviderSearchIndex;
+import com.gapsi.ecommerce.repository.ProviderSearchResult;
+import com.gapsi.ecommerce.repository.ProviderUpdateResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de proveedores
@@ -25,19 +49,46 @@ public class ProviderServiceImpl implements ProviderService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProviderServiceImpl.class);
 
-    private final JsonDatabase jsonDatabase;
+    /**
+     * Tamaño máximo de página para la paginación por cursor
+     */
+    private static final int MAX_CURSOR_LIMIT = 1000;
+
+    /**
+     * Número máximo de proveedores por carga masiva
+     */
+    private static final int MAX_BULK_ITEMS = 100_000;
+
+    /**
+     * Número máximo de IDs por consulta de varios proveedores
+     */
+    private static final int MAX_BATCH_GET_IDS = 1000;
+
+    /**
+     * Intentos de un PATCH sin versión esperada cuando otro cliente modifica el proveedor entretanto
+     */
+    private static final int MAX_PATCH_ATTEMPTS = 3;
+
+    /**
+     * Identificador de este arranque: la versión del repositorio se reinicia al iniciar la aplicación
+     */
+    private final String bootId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ProviderRepository providerRepository;
     private final ProviderMapper providerMapper;
+    private final Validator validator;
 
-    public ProviderServiceImpl(JsonDatabase jsonDatabase, ProviderMapper providerMapper) {
-        this.jsonDatabase = jsonDatabase;
+    public ProviderServiceImpl(ProviderRepository providerRepository, ProviderMapper providerMapper, Validator validator) {
+        this.providerRepository = providerRepository;
         this.providerMapper = providerMapper;
+        this.validator = validator;
     }
 
     @Override
     public PagedProviderResponse findAllPaginated(int page, int size) {
-        logger.info("Consultando proveedores paginados - Página: {}, Tamaño: {}", page, size);
+        logger.debug("Consultando proveedores paginados - Página: {}, Tamaño: {}", page, size);
 
-        List<Provider> allProviders = jsonDatabase.findAll();
+        List<Provider> allProviders = providerRepository.findAll();
         long totalItems = allProviders.size();
 
         // Calcular índices de paginación
@@ -54,6 +105,31 @@ public class ProviderServiceImpl implements ProviderService {
                 .map(providerMapper::toDto)
                 .collect(Collectors.toList());
 
+        logger.debug("Retornando {} proveedores de un total de {}", items.size(), totalItems);
+
+        return toPagedResponse(items, totalItems, page, size);
+    }
+
+    @Override
+    public PagedProviderResponse search(String query, int page, int size) {
+        logger.debug("Buscando proveedores - Consulta: '{}', Página: {}, Tamaño: {}", query, page, size);
+
+        ProviderSearchResult result = providerRepository.search(query, page * size, size);
+
+        List<ProviderResponseDto> items = result.providers().stream()
+                .map(providerMapper::toDto)
+                .collect(Collectors.toList());
+
+        logger.debug("Retornando {} proveedores de {} coincidencias", items.size(), result.totalHits());
+
+        return toPagedResponse(items, result.totalHits(), page, size);
+    }
+
+    /**
+     * Construye la respuesta paginada calculando los metadatos de paginación
+     */
+    private static PagedProviderResponse toPagedResponse(List<ProviderResponseDto> items, long totalItems,
+                                                         int page, int size) {
         // Calcular metadatos de paginación
         int totalPages = (int) Math.ceil((double) totalItems / size);
         boolean hasNext = page < totalPages - 1;
@@ -61,8 +137,6 @@ public class ProviderServiceImpl implements ProviderService {
         boolean isFirst = page == 0;
         boolean isLast = page >= totalPages - 1;
 
-        logger.info("Retornando {} proveedores de un total de {}", items.size(), totalItems);
-
         return PagedProviderResponse.builder()
                 .items(items)
                 .totalItems(totalItems)
@@ -77,51 +151,289 @@ public class ProviderServiceImpl implements ProviderService {
     }
 
     @Override
-    public ProviderResponseDto createProvider(ProviderRequestDto requestDto) {
-        logger.info("Creando nuevo proveedor con nombre: {}", requestDto.getName());
+    public CursorProviderResponse findAfter(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CURSOR_LIMIT));
+        logger.debug("Consultando proveedores por cursor - Después de: {}, Límite: {}", after, pageSize);
+
+        // Se pide un elemento extra para saber si hay página siguiente
+        List<Provider> providers = providerRepository.findAfter(after, pageSize + 1);
+        boolean hasNext = providers.size() > pageSize;
 
-        // Validar duplicados por nombre
-        if (jsonDatabase.existsByName(requestDto.getName())) {
-            logger.warn("Intento de crear proveedor duplicado: {}", requestDto.getName());
-            throw new DuplicateProviderException(
-                    "Ya existe un proveedor con el nombre: " + requestDto.getName());
+        List<ProviderResponseDto> items = providers.stream()
+                .limit(pageSize)
+                .map(providerMapper::toDto)
+                .collect(Collectors.toList());
+
+        Long nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+
+        return CursorProviderResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .limit(pageSize)
+                .build();
+    }
+
+    @Override
+    public void exportAll(Consumer<ProviderResponseDto> consumer) {
+        logger.debug("Exportando todos los proveedores");
+
+        try (Stream<Provider> providers = providerRepository.streamAll()) {
+            providers.map(providerMapper::toDto).forEach(consumer);
         }
+    }
+
+    @Override
+    public ProviderResponseDto createProvider(ProviderRequestDto requestDto) {
+        logger.debug("Creando nuevo proveedor con nombre: {}", requestDto.getName());
 
         // Convertir DTO a entidad
         Provider provider = providerMapper.toEntity(requestDto);
 
-        // Guardar en BD
-        Provider savedProvider = jsonDatabase.save(provider);
+        // Guardar en BD validando duplicados por nombre en una sola operación atómica
+        Provider savedProvider = providerRepository.insertIfAbsent(provider)
+                .orElseThrow(() -> {
+                    logger.warn("Intento de crear proveedor duplicado: {}", requestDto.getName());
+                    return new DuplicateProviderException(
+                            "Ya existe un proveedor con el nombre: " + requestDto.getName());
+                });
 
-        logger.info("Proveedor creado exitosamente con ID: {}", savedProvider.getId());
+        logger.debug("Proveedor creado exitosamente con ID: {}", savedProvider.getId());
 
         // Retornar DTO de respuesta
         return providerMapper.toDto(savedProvider);
     }
 
+    @Override
+    public BulkImportResponse importProviders(List<ProviderRequestDto> requests) {
+        logger.debug("Carga masiva de {} proveedores", requests.size());
+
+        if (requests.size() > MAX_BULK_ITEMS) {
+            throw new BatchTooLargeException(
+                    "El lote excede el máximo de " + MAX_BULK_ITEMS + " proveedores");
+        }
+
+        BulkImportItemResult[] results = new BulkImportItemResult[requests.size()];
+        List<Provider> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+
+        // Validar cada elemento con las mismas reglas que la creación individual
+        for (int i = 0; i < requests.size(); i++) {
+            ProviderRequestDto request = requests.get(i);
+            if (request == null) {
+                results[i] = rejected(i, null, BulkImportItemResult.Status.INVALID, "Registro JSON inválido", null);
+                continue;
+            }
+
+            Map<String, String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results[i] = rejected(i, request.getName(), BulkImportItemResult.Status.INVALID,
+                        "Error de validación en los campos", errors);
+                continue;
+            }
+
+            candidates.add(providerMapper.toEntity(request));
+            candidateIndexes.add(i);
+        }
+
+        // Guardar los válidos con una sola escritura; el repositorio descarta nombres repetidos
+        List<Optional<Provider>> saved = providerRepository.insertAllIfAbsent(candidates);
+        int created = 0;
+        for (int c = 0; c < candidates.size(); c++) {
+            int index = candidateIndexes.get(c);
+            String name = candidates.get(c).getName();
+            if (saved.get(c).isPresent()) {
+                results[index] = BulkImportItemResult.builder()
+                        .index(index)
+                        .status(BulkImportItemResult.Status.CREATED)
+                        .id(saved.get(c).get().getId())
+                        .name(name)
+                        .build();
+                created++;
+            } else {
+                results[index] = rejected(index, name, BulkImportItemResult.Status.DUPLICATE,
+                        "Ya existe un proveedor con el nombre: " + name, null);
+            }
+        }
+
+        logger.info("Carga masiva finalizada: {} creados, {} rechazados", created, requests.size() - created);
+
+        return BulkImportResponse.builder()
+                .totalItems(requests.size())
+                .created(created)
+                .rejected(requests.size() - created)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Valida un proveedor con las reglas de ProviderRequestDto
+     *
+     * @return Mensaje de error por campo; vacío si es válido
+     */
+    private Map<String, String> validate(ProviderRequestDto request) {
+        Set<ConstraintViolation<ProviderRequestDto>> violations = validator.validate(request);
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+
+    private static BulkImportItemResult rejected(int index, String name, BulkImportItemResult.Status status,
+                                                 String message, Map<String, String> errors) {
+        return BulkImportItemResult.builder()
+                .index(index)
+                .status(status)
+                .name(name)
+                .message(message)
+                .errors(errors)
+                .build();
+    }
+
+    @Override
+    public ProviderResponseDto updateProvider(Long id, ProviderRequestDto requestDto, Long expectedVersion) {
+        logger.debug("Actualizando proveedor con ID: {}", id);
+
+        Provider provider = providerMapper.toEntity(requestDto);
+        provider.setId(id);
+
+        // La versión se verifica y el registro se reemplaza en una sola operación atómica
+        Provider updated = requireUpdated(id, providerRepository.update(provider, expectedVersion), requestDto.getName());
+
+        logger.debug("Proveedor con ID {} actualizado a la versión {}", id, updated.getVersion());
+        return providerMapper.toDto(updated);
+    }
+
+    @Override
+    public ProviderResponseDto patchProvider(Long id, ProviderRequestDto changes, Long expectedVersion) {
+        logger.debug("Modificando parcialmente proveedor con ID: {}", id);
+
+        for (int attempt = 1; ; attempt++) {
+            Provider current = providerRepository.findById(id)
+                    .orElseThrow(() -> new ProviderNotFoundException("No se encontró proveedor con ID: " + id));
+            if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                throw versionMismatch(id, current.getVersion());
+            }
+
+            // Aplicar los cambios sobre una copia: las instancias del repositorio no se modifican
+            ProviderRequestDto merged = ProviderRequestDto.builder()
+                    .name(changes.getName() != null ? changes.getName() : current.getName())
+                    .companyName(changes.getCompanyName() != null ? changes.getCompanyName() : current.getCompanyName())
+                    .address(changes.getAddress() != null ? changes.getAddress() : current.getAddress())
+                    .build();
+            Map<String, String> errors = validate(merged);
+            if (!errors.isEmpty()) {
+                throw new InvalidProviderException("Error de validación en los campos", errors);
+            }
+
+            Provider provider = Provider.builder().id(id).build();
+            providerMapper.updateEntityFromDto(provider, merged);
+
+            // Condicionar a la versión leída para no sobrescribir una modificación concurrente
+            ProviderUpdateResult result = providerRepository.update(provider, current.getVersion());
+            if (result.status() == ProviderUpdateResult.Status.VERSION_MISMATCH
+                    && expectedVersion == null && attempt < MAX_PATCH_ATTEMPTS) {
+                logger.debug("Proveedor con ID {} modificado concurrentemente, reintentando", id);
+                continue;
+            }
+
+            Provider updated = requireUpdated(id, result, merged.getName());
+            logger.debug("Proveedor con ID {} actualizado a la versión {}", id, updated.getVersion());
+            return providerMapper.toDto(updated);
+        }
+    }
+
+    /**
+     * Retorna el proveedor actualizado o lanza la excepción que corresponde al resultado
+     */
+    private static Provider requireUpdated(Long id, ProviderUpdateResult result, String name) {
+        return switch (result.status()) {
+            case UPDATED -> result.provider();
+            case NOT_FOUND -> throw new ProviderNotFoundException("No se encontró proveedor con ID: " + id);
+            case VERSION_MISMATCH -> throw versionMismatch(id, result.provider().getVersion());
+            case NAME_TAKEN -> throw new DuplicateProviderException("Ya existe un proveedor con el nombre: " + name);
+        };
+    }
+
+    private static ProviderVersionMismatchException versionMismatch(Long id, long currentVersion) {
+        logger.debug("Versión no vigente del proveedor con ID {}; vigente: {}", id, currentVersion);
+        return new ProviderVersionMismatchException(
+                "El proveedor con ID " + id + " fue modificado por otro usuario (versión vigente: " + currentVersion + ")",
+                currentVersion);
+    }
+
     @Override
     public void deleteProvider(Long id) {
-        logger.info("Eliminando proveedor con ID: {}", id);
+        logger.debug("Eliminando proveedor con ID: {}", id);
 
-        // Verificar que existe
-        if (!jsonDatabase.findById(id).isPresent()) {
+        // La baja informa si el proveedor existía: no hace falta consultarlo antes
+        if (!providerRepository.deleteById(id)) {
             logger.warn("No se encontró proveedor con ID: {}", id);
             throw new ProviderNotFoundException("No se encontró proveedor con ID: " + id);
         }
 
-        // Eliminar
-        boolean deleted = jsonDatabase.deleteById(id);
+        logger.debug("Proveedor con ID {} eliminado exitosamente", id);
+    }
+
+    @Override
+    public BulkDeleteResponse deleteProviders(BulkDeleteRequest request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : idsMatching(request.getQuery());
+        logger.debug("Eliminación masiva de {} proveedores", ids.size());
+
+        if (ids.size() > MAX_BULK_ITEMS) {
+            throw new BatchTooLargeException(
+                    "El lote excede el máximo de " + MAX_BULK_ITEMS + " proveedores");
+        }
+
+        List<Boolean> deleted = providerRepository.deleteAllById(ids);
 
-        if (deleted) {
-            logger.info("Proveedor con ID {} eliminado exitosamente", id);
+        List<BulkDeleteItemResult> results = new ArrayList<>(ids.size());
+        int deletedCount = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            boolean wasDeleted = deleted.get(i);
+            results.add(BulkDeleteItemResult.builder()
+                    .id(ids.get(i))
+                    .status(wasDeleted ? BulkDeleteItemResult.Status.DELETED : BulkDeleteItemResult.Status.NOT_FOUND)
+                    .build());
+            if (wasDeleted) {
+                deletedCount++;
+            }
         }
+
+        logger.info("Eliminación masiva finalizada: {} eliminados, {} no encontrados", deletedCount, ids.size() - deletedCount);
+
+        return BulkDeleteResponse.builder()
+                .totalItems(ids.size())
+                .deleted(deletedCount)
+                .notFound(ids.size() - deletedCount)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * IDs de todos los proveedores que coinciden con la búsqueda, en orden de ID.
+     * Se recorren todos los proveedores con las reglas de /search en lugar de paginar el índice,
+     * que ordena por relevancia todas las coincidencias aunque aquí solo se necesitan los IDs.
+     */
+    private List<Long> idsMatching(String query) {
+        List<Long> ids;
+        try (Stream<Provider> providers = providerRepository.streamAll()) {
+            ids = providers.filter(ProviderSearchIndex.matcher(query))
+                    .map(Provider::getId)
+                    .toList();
+        }
+        if (ids.size() > MAX_BULK_ITEMS) {
+            throw new BatchTooLargeException(
+                    "La búsqueda coincide con " + ids.size() + " proveedores; el máximo por lote es " + MAX_BULK_ITEMS);
+        }
+        return ids;
     }
 
     @Override
     public ProviderResponseDto findById(Long id) {
-        logger.info("Buscando proveedor con ID: {}", id);
+        logger.debug("Buscando proveedor con ID: {}", id);
 
-        Provider provider = jsonDatabase.findById(id)
+        Provider provider = providerRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.warn("No se encontró proveedor con ID: {}", id);
                     return new ProviderNotFoundException("No se encontró proveedor con ID: " + id);
@@ -129,4 +441,38 @@ public class ProviderServiceImpl implements ProviderService {
 
         return providerMapper.toDto(provider);
     }
+
+    @Override
+    public ProviderBatchGetResponse findByIds(List<Long> ids) {
+        // Los IDs repetidos se resuelven una sola vez; null no identifica a ningún proveedor
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        logger.debug("Buscando {} proveedores por ID", requested.size());
+
+        if (requested.size() > MAX_BATCH_GET_IDS) {
+            throw new BatchTooLargeException(
+                    "La consulta excede el máximo de " + MAX_BATCH_GET_IDS + " IDs");
+        }
+
+        List<Provider> providers = providerRepository.findAllById(requested);
+
+        Set<Long> missing = new LinkedHashSet<>(requested);
+        List<ProviderResponseDto> items = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            missing.remove(provider.getId());
+            items.add(providerMapper.toDto(provider));
+        }
+
+        logger.debug("Retornando {} proveedores; {} IDs no existen", items.size(), missing.size());
+
+        return ProviderBatchGetResponse.builder()
+                .items(items)
+                .missing(new ArrayList<>(missing))
+                .build();
+    }
+
+    @Override
+    public String getDataVersion() {
+        return bootId + "-" + providerRepository.version();
+    }
 }
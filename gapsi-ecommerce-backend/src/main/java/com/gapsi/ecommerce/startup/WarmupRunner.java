@@ -0,0 +1,132 @@
+package com.gapsi.ecommerce.startup;
+
+import com.gapsi.ecommerce.config.WarmupProperties;
+import com.gapsi.ecommerce.dto.ProviderResponseDto;
+import com.gapsi.ecommerce.service.ProviderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calentamiento al iniciar
+ * Con los proveedores ya cargados e indexados, recorre los endpoints de lectura a través del
+ * servidor HTTP local (filtros, dispatch de Spring MVC, servicio, mapper, caché de páginas,
+ * serialización Jackson y gzip) para que el JIT compile esos caminos antes del primer cliente.
+ * Spring Boot publica readiness ACCEPTING_TRAFFIC (/actuator/health/readiness) solo cuando
+ * terminan los ApplicationRunner; mientras tanto el probe responde 503 y el orquestador no
+ * envía tráfico. Un fallo del calentamiento se registra y no impide el arranque.
+ * Con warmup.exit-on-completion=true la aplicación termina al completar el calentamiento
+ * (ejecución de entrenamiento del archivo CDS).
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final int PAGE_SIZE = 10;
+
+    private final WarmupProperties properties;
+    private final ProviderService providerService;
+    private final ApplicationContext applicationContext;
+    private final String contextPath;
+
+    public WarmupRunner(WarmupProperties properties, ProviderService providerService,
+                        ApplicationContext applicationContext,
+                        @Value("${server.servlet.context-path:}") String contextPath) {
+        this.properties = properties;
+        this.providerService = providerService;
+        this.applicationContext = applicationContext;
+        this.contextPath = contextPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            logger.info("Calentamiento deshabilitado");
+            return;
+        }
+        // Sin servidor HTTP (p. ej. pruebas con entorno web simulado) no hay nada que calentar
+        if (!(applicationContext instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null || webContext.getWebServer().getPort() <= 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort() + contextPath;
+        List<String> paths = warmupPaths();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+        try {
+            for (int i = 0; i < properties.getIterations(); i++) {
+                for (String path : paths) {
+                    send(client, baseUrl + path);
+                }
+            }
+            logger.info("Calentamiento completado: {} peticiones en {} ms",
+                    (long) properties.getIterations() * paths.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            logger.warn("Calentamiento interrumpido: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Calentamiento interrumpido");
+        }
+
+        if (properties.isExitOnCompletion()) {
+            logger.info("Ejecución de entrenamiento completada; terminando la aplicación");
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    /**
+     * Endpoints de lectura a recorrer: bienvenida, listado paginado, por cursor y, si hay
+     * proveedores, consulta por ID y búsqueda con el primero
+     */
+    private List<String> warmupPaths() {
+        List<String> paths = new ArrayList<>();
+        paths.add("/api/v1/welcome");
+        paths.add("/api/v1/providers?page=0&size=" + PAGE_SIZE);
+        paths.add("/api/v1/providers?limit=" + PAGE_SIZE);
+
+        List<ProviderResponseDto> first = providerService.findAfter(null, 1).getItems();
+        if (!first.isEmpty()) {
+            ProviderResponseDto provider = first.get(0);
+            String term = provider.getName().split("\\s+")[0].toLowerCase(Locale.ROOT);
+            paths.add("/api/v1/providers/" + provider.getId());
+            paths.add("/api/v1/providers/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8)
+                    + "&page=0&size=" + PAGE_SIZE);
+        }
+        return paths;
+    }
+
+    private void send(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.getRequestTimeout())
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 500) {
+            logger.warn("Calentamiento: {} respondió {}", url, response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.gapsi.ecommerce.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gapsi.ecommerce.config.CompressionConfig.SizedJsonHttpMessageConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionConfigTests {
+
+	private final SizedJsonHttpMessageConverter converter = new SizedJsonHttpMessageConverter(new ObjectMapper(), 64);
+
+	@Test
+	void responsesBelowTheThresholdCarryTheirContentLength() throws Exception {
+		MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+		converter.write(Map.of("name", "Proveedor Uno"), MediaType.APPLICATION_JSON, message);
+
+		assertThat(message.getBodyAsString()).isEqualTo("{\"name\":\"Proveedor Uno\"}");
+		assertThat(message.getHeaders().getContentLength()).isEqualTo(message.getBodyAsBytes().length);
+	}
+
+	@Test
+	void responsesAboveTheThresholdAreStreamedWithoutContentLength() throws Exception {
+		MockHttpOutputMessage message = new MockHttpOutputMessage();
+		String address = "Calle Ficticia 123, Colonia Centro, Ciudad de México, C.P. 06000";
+
+		converter.write(Map.of("address", address), MediaType.APPLICATION_JSON, message);
+
+		assertThat(message.getBodyAsString()).isEqualTo("{\"address\":\"" + address + "\"}");
+		assertThat(message.getHeaders().getContentLength()).isEqualTo(-1);
+	}
+
+}
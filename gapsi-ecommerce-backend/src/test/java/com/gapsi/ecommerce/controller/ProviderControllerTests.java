@@ -0,0 +1,344 @@
+package com.gapsi.ecommerce.controller;
+
+import com.gapsi.ecommerce.cache.ProviderPageCache;
+import com.gapsi.ecommerce.config.AccessLogProperties;
+import com.gapsi.ecommerce.config.PageCacheProperties;
+import com.gapsi.ecommerce.dto.BulkDeleteItemResult;
+import com.gapsi.ecommerce.dto.BulkDeleteRequest;
+import com.gapsi.ecommerce.dto.BulkDeleteResponse;
+import com.gapsi.ecommerce.dto.BulkImportItemResult;
+import com.gapsi.ecommerce.dto.BulkImportResponse;
+import com.gapsi.ecommerce.dto.PagedProviderResponse;
+import com.gapsi.ecommerce.dto.ProviderBatchGetResponse;
+import com.gapsi.ecommerce.dto.ProviderRequestDto;
+import com.gapsi.ecommerce.dto.ProviderResponseDto;
+import com.gapsi.ecommerce.exceptions.BatchTooLargeException;
+import com.gapsi.ecommerce.exceptions.ProviderVersionMismatchException;
+import com.gapsi.ecommerce.service.ProviderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProviderController.class)
+@Import({ProviderPageCache.class, PageCacheProperties.class, AccessLogProperties.class, SimpleMeterRegistry.class})
+class ProviderControllerTests {
+
+	private static final String UPDATE_BODY = "{\"name\":\"Proveedor Uno\",\"companyName\":\"Empresa Uno S.A.\",\"address\":\"Calle Ficticia 123, Centro\"}";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@MockitoBean
+	ProviderService providerService;
+
+	@Test
+	void listCarriesETagAndMatchingIfNoneMatchIsNotModified() throws Exception {
+		when(providerService.getDataVersion()).thenReturn("boot-7");
+		when(providerService.findAllPaginated(anyInt(), anyInt())).thenReturn(PagedProviderResponse.builder()
+				.items(List.of()).totalItems(0).build());
+
+		mockMvc.perform(get("/api/v1/providers"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "W/\"boot-7\""))
+				.andExpect(header().string("Cache-Control", "no-cache"))
+				.andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.data.totalItems").value(0));
+
+		mockMvc.perform(get("/api/v1/providers").header("If-None-Match", "\"boot-7\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", "W/\"boot-7\""))
+				.andExpect(content().string(""));
+
+		verify(providerService, times(1)).findAllPaginated(anyInt(), anyInt());
+	}
+
+	@Test
+	void pagesAreServedFromCacheUntilTheDataVersionChanges() throws Exception {
+		when(providerService.getDataVersion()).thenReturn("boot-1", "boot-1", "boot-2");
+		when(providerService.findAllPaginated(0, 10)).thenReturn(
+				PagedProviderResponse.builder().items(List.of()).totalItems(1).build(),
+				PagedProviderResponse.builder().items(List.of()).totalItems(2).build());
+
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10"))
+				.andExpect(jsonPath("$.data.totalItems").value(1));
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10"))
+				.andExpect(jsonPath("$.data.totalItems").value(1));
+		verify(providerService, times(1)).findAllPaginated(0, 10);
+
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10"))
+				.andExpect(jsonPath("$.data.totalItems").value(2));
+		verify(providerService, times(2)).findAllPaginated(0, 10);
+	}
+
+	@Test
+	void requestWithAnOlderDataVersionDoesNotWipeOtherCachedPages() throws Exception {
+		// Una petición que leyó la versión anterior se intercala entre dos de la versión nueva
+		when(providerService.getDataVersion()).thenReturn("boot-2", "boot-1", "boot-2");
+		when(providerService.findAllPaginated(anyInt(), eq(10))).thenReturn(
+				PagedProviderResponse.builder().items(List.of()).totalItems(2).build());
+
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/providers?page=1&size=10"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10"))
+				.andExpect(jsonPath("$.data.totalItems").value(2));
+
+		verify(providerService, times(1)).findAllPaginated(0, 10);
+	}
+
+	@Test
+	void leanPagesOmitDerivableNavigationFlags() throws Exception {
+		when(providerService.getDataVersion()).thenReturn("boot-3");
+		when(providerService.findAllPaginated(0, 10)).thenReturn(PagedProviderResponse.builder()
+				.items(List.of()).totalItems(30).totalPages(3).hasNext(true).isFirst(true).build());
+
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10"))
+				.andExpect(jsonPath("$.data.hasNext").value(true))
+				.andExpect(jsonPath("$.data.first").value(true));
+
+		mockMvc.perform(get("/api/v1/providers?page=0&size=10&lean=true"))
+				.andExpect(jsonPath("$.data.totalPages").value(3))
+				.andExpect(jsonPath("$.data.hasNext").doesNotExist())
+				.andExpect(jsonPath("$.data.hasPrevious").doesNotExist())
+				.andExpect(jsonPath("$.data.first").doesNotExist())
+				.andExpect(jsonPath("$.data.last").doesNotExist());
+	}
+
+	@Test
+	void itemETagIsTheProviderVersionAndIsAcceptedByIfMatch() throws Exception {
+		when(providerService.findById(1L)).thenReturn(ProviderResponseDto.builder().id(1L).name("Proveedor Uno").version(3).build());
+		when(providerService.updateProvider(eq(1L), any(ProviderRequestDto.class), eq(3L)))
+				.thenReturn(ProviderResponseDto.builder().id(1L).name("Proveedor Uno").version(4).build());
+
+		String eTag = mockMvc.perform(get("/api/v1/providers/1").header("If-None-Match", "\"2\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"3\""))
+				.andExpect(jsonPath("$.data.name").value("Proveedor Uno"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/api/v1/providers/1").header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		// El ETag leído se devuelve tal cual en If-Match
+		mockMvc.perform(put("/api/v1/providers/1").header("If-Match", eTag)
+						.contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"4\""));
+	}
+
+	@Test
+	void nonNumericIfMatchIsBadRequest() throws Exception {
+		mockMvc.perform(put("/api/v1/providers/1").header("If-Match", "W/\"boot-7\"")
+						.contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.data['If-Match']").exists());
+
+		mockMvc.perform(patch("/api/v1/providers/1").header("If-Match", "\"abc\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"address\":\"Avenida Reforma 500\"}"))
+				.andExpect(status().isBadRequest());
+
+		verify(providerService, never()).updateProvider(any(), any(), any());
+		verify(providerService, never()).patchProvider(any(), any(), any());
+	}
+
+	@Test
+	void exportStreamsOneProviderPerLineAsNdjson() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<ProviderResponseDto> consumer = invocation.getArgument(0);
+			consumer.accept(ProviderResponseDto.builder().id(1L).name("Proveedor Uno").version(1).build());
+			consumer.accept(ProviderResponseDto.builder().id(2L).name("Proveedor \"Dos\"\nS.A.").version(1).build());
+			return null;
+		}).when(providerService).exportAll(any());
+
+		MvcResult started = mockMvc.perform(get("/api/v1/providers/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		// Cada línea es un objeto JSON completo; los saltos de línea de los valores van escapados
+		assertThat(body).endsWith("\n");
+		assertThat(body.split("\n")).containsExactly(
+				"{\"id\":1,\"name\":\"Proveedor Uno\",\"companyName\":null,\"address\":null,\"version\":1}",
+				"{\"id\":2,\"name\":\"Proveedor \\\"Dos\\\"\\nS.A.\",\"companyName\":null,\"address\":null,\"version\":1}");
+	}
+
+	@Test
+	void ndjsonImportParsesOneProviderPerLineAndKeepsMalformedLinesAsInvalid() throws Exception {
+		when(providerService.importProviders(any())).thenReturn(BulkImportResponse.builder()
+				.totalItems(3).created(2).rejected(1).results(List.of()).build());
+
+		String body = "{\"name\":\"Proveedor Uno\",\"companyName\":\"Empresa Uno S.A.\",\"address\":\"Calle 1\"}\n"
+				+ "\n"
+				+ "{\"name\":\"Proveedor Dos\",\n"
+				+ "{\"name\":\"Proveedor Tres\",\"companyName\":\"Empresa Tres S.A.\",\"address\":\"Calle 3\"}";
+
+		mockMvc.perform(post("/api/v1/providers/bulk")
+						.contentType("application/x-ndjson").content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.created").value(2));
+
+		// Las líneas vacías se omiten; una línea que no es JSON válido llega como null (elemento inválido)
+		ArgumentCaptor<List<ProviderRequestDto>> requests = ArgumentCaptor.forClass(List.class);
+		verify(providerService).importProviders(requests.capture());
+		assertThat(requests.getValue()).hasSize(3);
+		assertThat(requests.getValue().get(0).getName()).isEqualTo("Proveedor Uno");
+		assertThat(requests.getValue().get(1)).isNull();
+		assertThat(requests.getValue().get(2).getName()).isEqualTo("Proveedor Tres");
+	}
+
+	@Test
+	void bulkImportReportsPerItemResultsAndRejectsOversizedBatches() throws Exception {
+		when(providerService.importProviders(any())).thenReturn(BulkImportResponse.builder()
+				.totalItems(2).created(1).rejected(1)
+				.results(List.of(
+						BulkImportItemResult.builder().index(0).status(BulkImportItemResult.Status.CREATED).id(7L).name("Proveedor Uno").build(),
+						BulkImportItemResult.builder().index(1).status(BulkImportItemResult.Status.DUPLICATE).name("Proveedor Uno").build()))
+				.build());
+
+		mockMvc.perform(post("/api/v1/providers/bulk")
+						.contentType(MediaType.APPLICATION_JSON).content("[" + UPDATE_BODY + "," + UPDATE_BODY + "]"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.results[0].status").value("CREATED"))
+				.andExpect(jsonPath("$.data.results[0].id").value(7))
+				.andExpect(jsonPath("$.data.results[1].status").value("DUPLICATE"));
+
+		when(providerService.importProviders(any())).thenThrow(new BatchTooLargeException("El lote excede el máximo"));
+		mockMvc.perform(post("/api/v1/providers/bulk")
+						.contentType(MediaType.APPLICATION_JSON).content("[" + UPDATE_BODY + "]"))
+				.andExpect(status().isPayloadTooLarge())
+				.andExpect(jsonPath("$.success").value(false));
+	}
+
+	@Test
+	void bulkDeleteRequiresExactlyOneCriterionAndReportsEachId() throws Exception {
+		when(providerService.deleteProviders(any(BulkDeleteRequest.class))).thenReturn(BulkDeleteResponse.builder()
+				.totalItems(2).deleted(1).notFound(1)
+				.results(List.of(
+						BulkDeleteItemResult.builder().id(1L).status(BulkDeleteItemResult.Status.DELETED).build(),
+						BulkDeleteItemResult.builder().id(9L).status(BulkDeleteItemResult.Status.NOT_FOUND).build()))
+				.build());
+
+		mockMvc.perform(post("/api/v1/providers/bulk-delete")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1,9]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.deleted").value(1))
+				.andExpect(jsonPath("$.data.notFound").value(1))
+				.andExpect(jsonPath("$.data.results[0].status").value("DELETED"))
+				.andExpect(jsonPath("$.data.results[1].id").value(9))
+				.andExpect(jsonPath("$.data.results[1].status").value("NOT_FOUND"));
+
+		mockMvc.perform(post("/api/v1/providers/bulk-delete")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1],\"query\":\"proveedor\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false));
+		mockMvc.perform(post("/api/v1/providers/bulk-delete")
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/v1/providers/bulk-delete")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"query\":\"  \"}"))
+				.andExpect(status().isBadRequest());
+
+		verify(providerService, times(1)).deleteProviders(any(BulkDeleteRequest.class));
+	}
+
+	@Test
+	void batchGetResolvesIdsFromQueryOrBody() throws Exception {
+		when(providerService.getDataVersion()).thenReturn("boot-9");
+		when(providerService.findByIds(List.of(1L, 2L, 3L))).thenReturn(ProviderBatchGetResponse.builder()
+				.items(List.of(ProviderResponseDto.builder().id(1L).name("Proveedor Uno").build(),
+						ProviderResponseDto.builder().id(3L).name("Proveedor Tres").build()))
+				.missing(List.of(2L))
+				.build());
+
+		mockMvc.perform(get("/api/v1/providers?ids=1,2,3"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "W/\"boot-9\""))
+				.andExpect(jsonPath("$.data.items[1].name").value("Proveedor Tres"))
+				.andExpect(jsonPath("$.data.missing[0]").value(2));
+
+		mockMvc.perform(post("/api/v1/providers/batch-get")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[1,2,3]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.items[0].id").value(1))
+				.andExpect(jsonPath("$.data.missing[0]").value(2));
+
+		mockMvc.perform(post("/api/v1/providers/batch-get")
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void updateCarriesIfMatchVersionAndAnswersPreconditionFailedWhenStale() throws Exception {
+		when(providerService.updateProvider(eq(1L), any(ProviderRequestDto.class), eq(3L)))
+				.thenReturn(ProviderResponseDto.builder().id(1L).name("Proveedor Uno").version(4).build());
+		when(providerService.updateProvider(eq(1L), any(ProviderRequestDto.class), eq(2L)))
+				.thenThrow(new ProviderVersionMismatchException("El proveedor con ID 1 fue modificado por otro usuario", 4));
+
+		mockMvc.perform(put("/api/v1/providers/1").header("If-Match", "\"3\"")
+						.contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"4\""))
+				.andExpect(jsonPath("$.data.version").value(4));
+
+		mockMvc.perform(put("/api/v1/providers/1").header("If-Match", "\"2\"")
+						.contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+				.andExpect(status().isPreconditionFailed())
+				.andExpect(header().string("ETag", "\"4\""))
+				.andExpect(jsonPath("$.success").value(false));
+
+		mockMvc.perform(put("/api/v1/providers/1")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"x\"}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void patchWithoutIfMatchIsUnconditional() throws Exception {
+		when(providerService.patchProvider(eq(1L), any(ProviderRequestDto.class), isNull()))
+				.thenReturn(ProviderResponseDto.builder().id(1L).name("Proveedor Uno").address("Avenida Reforma 500").version(1).build());
+
+		mockMvc.perform(patch("/api/v1/providers/1").header("If-Match", "*")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"address\":\"Avenida Reforma 500\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""))
+				.andExpect(jsonPath("$.data.address").value("Avenida Reforma 500"));
+	}
+
+}
@@ -0,0 +1,564 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.model.Provider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonDatabaseTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void journalModeRecoversSnapshotPlusJournal() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+
+		JsonDatabase database = new JsonDatabase(properties);
+		Provider first = database.save(provider("Proveedor Uno"));
+		Provider second = database.save(provider("Proveedor Dos"));
+		database.deleteById(first.getId());
+		second.setCompanyName("Empresa Actualizada S.A.");
+		database.update(second);
+
+		// Sin cerrar: simula una caída, el estado solo existe en el journal
+		assertThat(Files.exists(tempDir.resolve("bd.json"))).isFalse();
+
+		JsonDatabase recovered = new JsonDatabase(properties);
+		assertThat(recovered.findAll()).extracting(Provider::getName).containsExactly("Proveedor Dos");
+		assertThat(recovered.findById(second.getId())).get()
+				.extracting(Provider::getCompanyName).isEqualTo("Empresa Actualizada S.A.");
+	}
+
+	@Test
+	void journalIsCompactedIntoSnapshotAtThreshold() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		properties.getJournal().setCompactionThreshold(2);
+
+		JsonDatabase database = new JsonDatabase(properties);
+		database.save(provider("Proveedor Uno"));
+		database.save(provider("Proveedor Dos"));
+
+		assertThat(Files.exists(tempDir.resolve("bd.json"))).isTrue();
+		assertThat(Files.size(tempDir.resolve("bd.json.journal"))).isZero();
+		assertThat(new JsonDatabase(properties).count()).isEqualTo(2);
+	}
+
+	@Test
+	void tornJournalTailIsDiscarded() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+
+		JsonDatabase database = new JsonDatabase(properties);
+		database.save(provider("Proveedor Uno"));
+		Files.writeString(tempDir.resolve("bd.json.journal"), "{\"op\":\"SAVE\",\"id\":2,\"prov",
+				StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+		JsonDatabase recovered = new JsonDatabase(properties);
+		assertThat(recovered.count()).isEqualTo(1);
+		assertThat(recovered.save(provider("Proveedor Dos")).getId()).isEqualTo(2L);
+		assertThat(new JsonDatabase(properties).count()).isEqualTo(2);
+	}
+
+	@Test
+	void deletedHighestIdIsNotReusedAfterRestartInSnapshotMode() {
+		DatabaseProperties properties = properties(PersistenceMode.SNAPSHOT);
+
+		JsonDatabase database = new JsonDatabase(properties);
+		database.save(provider("Proveedor Uno"));
+		Provider last = database.save(provider("Proveedor Dos"));
+		database.deleteById(last.getId());
+		database.close();
+
+		JsonDatabase restarted = new JsonDatabase(properties);
+		assertThat(restarted.save(provider("Proveedor Tres")).getId()).isGreaterThan(last.getId());
+		restarted.close();
+
+		// Un segundo reinicio conserva el ID más alto aunque ya esté en el snapshot
+		assertThat(new JsonDatabase(properties).save(provider("Proveedor Cuatro")).getId()).isEqualTo(last.getId() + 2);
+	}
+
+	@Test
+	void deletedHighestIdIsNotReusedAfterRestartInJournalMode() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+
+		JsonDatabase database = new JsonDatabase(properties);
+		database.save(provider("Proveedor Uno"));
+		Provider last = database.save(provider("Proveedor Dos"));
+		database.deleteById(last.getId());
+
+		// Sin cerrar: el ID eliminado solo existe en el journal
+		assertThat(new JsonDatabase(properties).save(provider("Proveedor Tres")).getId()).isGreaterThan(last.getId());
+
+		// Al cerrar, el journal se compacta en un snapshot sin el ID eliminado
+		JsonDatabase compacted = new JsonDatabase(properties);
+		Provider newest = compacted.save(provider("Proveedor Cuatro"));
+		compacted.deleteById(newest.getId());
+		compacted.close();
+		assertThat(Files.size(tempDir.resolve("bd.json.journal"))).isZero();
+		assertThat(new JsonDatabase(properties).save(provider("Proveedor Cinco")).getId()).isGreaterThan(newest.getId());
+	}
+
+	@Test
+	void snapshotModeReplacesFileAtomically() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.SNAPSHOT);
+
+		JsonDatabase database = new JsonDatabase(properties);
+		database.save(provider("Proveedor Uno"));
+		database.save(provider("Proveedor Dos"));
+
+		assertThat(Files.exists(tempDir.resolve("bd.json.tmp"))).isFalse();
+		assertThat(new JsonDatabase(properties).findAll()).extracting(Provider::getName)
+				.containsExactly("Proveedor Uno", "Proveedor Dos");
+	}
+
+	@Test
+	void snapshotThatCannotReplaceTheFileFailsInsteadOfCopyingInPlace() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.SNAPSHOT);
+		JsonDatabase database = new JsonDatabase(properties);
+
+		// Un directorio no vacío en la ruta de bd.json hace fallar el rename, como un archivo montado en docker
+		Path target = Files.createDirectory(tempDir.resolve("bd.json"));
+		Files.writeString(target.resolve("contenido"), "sin cambios");
+		assertThatThrownBy(() -> database.save(provider("Proveedor Uno")))
+				.isInstanceOf(RuntimeException.class);
+
+		assertThat(database.count()).isZero();
+		assertThat(Files.readString(target.resolve("contenido"))).isEqualTo("sin cambios");
+		assertThat(Files.exists(tempDir.resolve("bd.json.tmp"))).isFalse();
+	}
+
+	@Test
+	void indexesFollowSaveUpdateAndDelete() {
+		JsonDatabase database = new JsonDatabase(properties(PersistenceMode.JOURNAL));
+		Provider first = database.save(provider("Proveedor Uno"));
+		Provider second = database.save(provider("Proveedor Dos"));
+
+		assertThat(database.findByName("PROVEEDOR uno")).get().isSameAs(first);
+
+		Provider renamed = provider("Proveedor Renombrado");
+		renamed.setId(first.getId());
+		database.update(renamed);
+		assertThat(database.existsByName("proveedor uno")).isFalse();
+		assertThat(database.findByName("proveedor renombrado")).get().isSameAs(renamed);
+
+		database.deleteById(second.getId());
+		assertThat(database.findById(second.getId())).isEmpty();
+		assertThat(database.existsByName("Proveedor Dos")).isFalse();
+		assertThat(database.count()).isEqualTo(1);
+
+		// Los IDs no se reutilizan después de eliminar el último
+		assertThat(database.save(provider("Proveedor Tres")).getId()).isEqualTo(3L);
+		assertThat(database.findAll()).extracting(Provider::getId).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void findAfterPagesByIdKeyset() {
+		JsonDatabase database = new JsonDatabase(properties(PersistenceMode.JOURNAL));
+		for (int i = 1; i <= 5; i++) {
+			database.save(provider("Proveedor " + i));
+		}
+
+		assertThat(database.findAfter(null, 2)).extracting(Provider::getId).containsExactly(1L, 2L);
+
+		// Una eliminación concurrente no desplaza las páginas siguientes
+		database.deleteById(1L);
+		assertThat(database.findAfter(2L, 2)).extracting(Provider::getId).containsExactly(3L, 4L);
+		assertThat(database.findAfter(4L, 2)).extracting(Provider::getId).containsExactly(5L);
+		assertThat(database.findAfter(5L, 2)).isEmpty();
+	}
+
+	@Test
+	void insertAllIfAbsentSkipsDuplicatesAndPersistsBatchOnce() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		JsonDatabase database = new JsonDatabase(properties);
+		database.save(provider("Proveedor Existente"));
+
+		List<Optional<Provider>> results = database.insertAllIfAbsent(List.of(
+				provider("Proveedor Uno"),
+				provider("PROVEEDOR UNO"),
+				provider("proveedor existente"),
+				provider("Proveedor Dos")));
+
+		assertThat(results).extracting(Optional::isPresent).containsExactly(true, false, false, true);
+		assertThat(Files.readAllLines(tempDir.resolve("bd.json.journal"))).hasSize(3);
+		assertThat(new JsonDatabase(properties).findAll()).extracting(Provider::getName)
+				.containsExactly("Proveedor Existente", "Proveedor Uno", "Proveedor Dos");
+	}
+
+	@Test
+	void searchRanksPrefixMatchesAndFollowsMutations() {
+		JsonDatabase database = new JsonDatabase(properties(PersistenceMode.JOURNAL));
+		Provider acme = database.save(Provider.builder().name("Acme Norte").companyName("Distribuidora Sur S.A.")
+				.address("Av. Central 100, Monterrey").build());
+		Provider sur = database.save(Provider.builder().name("Surtidora Bajío").companyName("Acme Holding")
+				.address("Calle Norte 5, León").build());
+		database.save(Provider.builder().name("Ferretería Centro").companyName("Ferre S.A.")
+				.address("Calle Acme 7, Puebla").build());
+
+		// name > companyName > address; acentos y mayúsculas no importan
+		assertThat(database.search("ACME", 0, 10).providers()).extracting(Provider::getName)
+				.containsExactly("Acme Norte", "Surtidora Bajío", "Ferretería Centro");
+		assertThat(database.search("sur baji", 0, 10).providers()).containsExactly(sur);
+		assertThat(database.search("acme nor", 0, 10).totalHits()).isEqualTo(2);
+		assertThat(database.search("acme", 1, 1).providers()).containsExactly(sur);
+
+		Provider renamed = Provider.builder().id(acme.getId()).name("Omega Norte")
+				.companyName("Distribuidora Sur S.A.").address("Av. Central 100, Monterrey").build();
+		database.update(renamed);
+		database.deleteById(sur.getId());
+		assertThat(database.search("acme", 0, 10).providers()).extracting(Provider::getName)
+				.containsExactly("Ferretería Centro");
+		assertThat(database.search("omeg", 0, 10).providers()).containsExactly(renamed);
+		assertThat(database.search("", 0, 10).totalHits()).isZero();
+	}
+
+	@Test
+	void concurrentWritesAreGroupCommittedAndDurableOnReturn() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		properties.getGroupCommit().setBatchWindow(Duration.ofMillis(50));
+
+		JsonDatabase database = new JsonDatabase(properties);
+		int writers = 32;
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		try {
+			List<Future<Provider>> futures = new ArrayList<>();
+			for (int i = 0; i < writers; i++) {
+				String name = "Proveedor " + i;
+				futures.add(executor.submit(() -> database.save(provider(name))));
+			}
+			for (Future<Provider> future : futures) {
+				assertThat(future.get(30, TimeUnit.SECONDS).getId()).isPositive();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// Sin cerrar: cada save retornó solo después de que su lote llegó al journal
+		assertThat(Files.readAllLines(tempDir.resolve("bd.json.journal"))).hasSize(writers);
+		assertThat(new JsonDatabase(properties).count()).isEqualTo(writers);
+	}
+
+	@Test
+	void failedFlushRollsBackTheWriteInMemory() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.SNAPSHOT);
+		JsonDatabase database = new JsonDatabase(properties);
+		Provider kept = database.save(provider("Proveedor Uno"));
+
+		// Un directorio en la ruta del archivo temporal hace fallar la escritura del snapshot
+		Path temp = Files.createDirectory(tempDir.resolve("bd.json.tmp"));
+		assertThatThrownBy(() -> database.insertIfAbsent(provider("Proveedor Dos")))
+				.isInstanceOf(RuntimeException.class);
+		assertThatThrownBy(() -> database.deleteById(kept.getId()))
+				.isInstanceOf(RuntimeException.class);
+
+		assertThat(database.findAll()).containsExactly(kept);
+		assertThat(database.existsByName("Proveedor Dos")).isFalse();
+
+		Files.delete(temp);
+		assertThat(database.insertIfAbsent(provider("Proveedor Dos"))).isPresent();
+		assertThat(new JsonDatabase(properties).findAll()).extracting(Provider::getName)
+				.containsExactly("Proveedor Uno", "Proveedor Dos");
+	}
+
+	@Test
+	void concurrentInsertIfAbsentAdmitsExactlyOneWinnerPerName() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		JsonDatabase database = new JsonDatabase(properties);
+
+		int threads = 64;
+		int sharedNames = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CyclicBarrier start = new CyclicBarrier(threads);
+		AtomicInteger sharedWins = new AtomicInteger();
+		AtomicInteger uniqueWins = new AtomicInteger();
+
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int n = 0; n < sharedNames; n++) {
+						// Varía mayúsculas para ejercitar la comparación case-insensitive
+						String name = (thread % 2 == 0 ? "Proveedor Compartido " : "PROVEEDOR COMPARTIDO ") + n;
+						if (database.insertIfAbsent(provider(name)).isPresent()) {
+							sharedWins.incrementAndGet();
+						}
+					}
+					if (database.insertIfAbsent(provider("Proveedor Unico " + thread)).isPresent()) {
+						uniqueWins.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(sharedWins.get()).isEqualTo(sharedNames);
+		assertThat(uniqueWins.get()).isEqualTo(threads);
+		assertThat(database.count()).isEqualTo(sharedNames + threads);
+		assertThat(database.findAll()).extracting(Provider::getId)
+				.containsExactlyElementsOf(LongStream.rangeClosed(1, sharedNames + threads).boxed().toList());
+
+		JsonDatabase recovered = new JsonDatabase(properties);
+		assertThat(recovered.count()).isEqualTo(sharedNames + threads);
+		assertThat(recovered.findAll()).extracting(provider -> provider.getName().toLowerCase())
+				.doesNotHaveDuplicates();
+	}
+
+	@Test
+	void updateKeepsProviderAndNameVisibleToConcurrentReadersAndInserts() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		JsonDatabase database = new JsonDatabase(properties);
+		Provider original = database.save(provider("Proveedor Estable"));
+
+		int updates = 300;
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		CyclicBarrier start = new CyclicBarrier(3);
+		AtomicInteger missedReads = new AtomicInteger();
+		AtomicInteger duplicateInserts = new AtomicInteger();
+
+		try {
+			Future<?> writer = executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < updates; i++) {
+					// Mismo nombre con otra capitalización: no debe liberar la entrada del índice de nombres
+					database.update(Provider.builder()
+							.id(original.getId())
+							.name(i % 2 == 0 ? "PROVEEDOR ESTABLE" : "Proveedor Estable")
+							.companyName("Empresa " + i)
+							.address(original.getAddress())
+							.build());
+				}
+				return null;
+			});
+			Future<?> reader = executor.submit(() -> {
+				start.await();
+				while (!writer.isDone()) {
+					if (database.findById(original.getId()).isEmpty()) {
+						missedReads.incrementAndGet();
+					}
+				}
+				return null;
+			});
+			Future<?> inserter = executor.submit(() -> {
+				start.await();
+				while (!writer.isDone()) {
+					if (database.insertIfAbsent(provider("proveedor estable")).isPresent()) {
+						duplicateInserts.incrementAndGet();
+					}
+				}
+				return null;
+			});
+			writer.get(30, TimeUnit.SECONDS);
+			reader.get(30, TimeUnit.SECONDS);
+			inserter.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(missedReads.get()).isZero();
+		assertThat(duplicateInserts.get()).isZero();
+		assertThat(database.count()).isEqualTo(1);
+		assertThat(database.findById(original.getId())).get()
+				.extracting(Provider::getVersion).isEqualTo((long) updates);
+	}
+
+	@Test
+	void renameReleasesOldNameOnlyAfterPublishingTheNewOne() {
+		JsonDatabase database = new JsonDatabase(properties(PersistenceMode.SNAPSHOT));
+		Provider original = database.save(provider("Nombre Anterior"));
+
+		database.update(Provider.builder()
+				.id(original.getId())
+				.name("Nombre Nuevo")
+				.companyName(original.getCompanyName())
+				.address(original.getAddress())
+				.build());
+
+		assertThat(database.findByName("nombre nuevo")).get().extracting(Provider::getId).isEqualTo(original.getId());
+		assertThat(database.existsByName("Nombre Anterior")).isFalse();
+		assertThat(database.insertIfAbsent(provider("Nombre Anterior"))).isPresent();
+		assertThat(database.insertIfAbsent(provider("Nombre Nuevo"))).isEmpty();
+	}
+
+	@Test
+	void concurrentMixedWritesKeepMemoryAndJournalConsistent() throws Exception {
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		// Umbral bajo para compactar (snapshot exclusivo) mientras hay escrituras en curso
+		properties.getJournal().setCompactionThreshold(150);
+		JsonDatabase database = new JsonDatabase(properties);
+		int hotIds = 40;
+		for (int i = 0; i < hotIds; i++) {
+			database.save(provider("Proveedor Base " + i));
+		}
+
+		int threads = 16;
+		int operations = 150;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CyclicBarrier start = new CyclicBarrier(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < operations; i++) {
+						long id = random.nextLong(1, hotIds + 1);
+						int operation = random.nextInt(10);
+						if (operation < 5) {
+							Provider revision = provider("Proveedor " + id + " rev " + thread + "-" + i);
+							revision.setId(id);
+							try {
+								database.update(revision);
+							} catch (RuntimeException e) {
+								// Eliminado por otro hilo
+								assertThat(database.findById(id)).isEmpty();
+							}
+						} else if (operation < 7) {
+							database.deleteById(id);
+						} else {
+							database.insertIfAbsent(provider("Proveedor Nuevo " + thread + "-" + i));
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		List<Provider> providers = database.findAll();
+		assertThat(database.count()).isEqualTo(providers.size());
+		for (Provider provider : providers) {
+			assertThat(database.findById(provider.getId())).get().isSameAs(provider);
+			assertThat(database.findByName(provider.getName())).get().isSameAs(provider);
+		}
+
+		// El orden del journal por ID coincide con el orden en memoria: la recuperación reproduce el mismo estado
+		assertThat(new JsonDatabase(properties).findAll()).usingRecursiveFieldByFieldElementComparator()
+				.containsExactlyElementsOf(providers);
+	}
+
+	@Test
+	void operationsLocksAndDiskAccessAreMeasured() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		JsonDatabase database = new JsonDatabase(properties(PersistenceMode.SNAPSHOT), registry);
+
+		Provider saved = database.save(provider("Proveedor Uno"));
+		database.findById(saved.getId());
+		database.findById(saved.getId());
+		database.deleteById(saved.getId());
+
+		assertThat(registry.get("bd.operation").tag("operation", "save").timer().count()).isEqualTo(1);
+		assertThat(registry.get("bd.operation").tag("operation", "findById").timer().count()).isEqualTo(2);
+		assertThat(registry.get("bd.lock.wait").tag("lock", "mutation-gate").timer().count()).isEqualTo(2);
+		assertThat(registry.get("bd.lock.held").tag("lock", "id").timer().count()).isEqualTo(1);
+		assertThat(registry.get("bd.commit.wait").timer().count()).isEqualTo(2);
+		assertThat(registry.get("bd.flush").tag("target", "snapshot").timer().count()).isPositive();
+		assertThat(registry.get("bd.serialize").timer().count()).isPositive();
+		assertThat(registry.get("bd.bytes.written").tag("file", "snapshot").counter().count()).isPositive();
+		assertThat(registry.get("bd.file.size").tag("file", "snapshot").gauge().value()).isPositive();
+		assertThat(registry.get("bd.pending.writes").gauge().value()).isZero();
+	}
+
+	@Test
+	void bulkDeleteIsPersistedWithASingleFlush() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		DatabaseProperties properties = properties(PersistenceMode.JOURNAL);
+		JsonDatabase database = new JsonDatabase(properties, registry);
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			ids.add(database.insertIfAbsent(provider("Proveedor " + i)).orElseThrow().getId());
+		}
+		long flushesBefore = registry.get("bd.flush").tag("target", "journal").timer().count();
+
+		ids.add(999L);
+		List<Boolean> results = database.deleteAllById(ids);
+
+		assertThat(results).hasSize(51).last().isEqualTo(false);
+		assertThat(results.subList(0, 50)).containsOnly(true);
+		assertThat(registry.get("bd.flush").tag("target", "journal").timer().count()).isEqualTo(flushesBefore + 1);
+		database.close();
+
+		JsonDatabase recovered = new JsonDatabase(properties);
+		assertThat(recovered.count()).isZero();
+		recovered.close();
+	}
+
+	@Test
+	void parallelLoadSplitsArrayBetweenProvidersAndKeepsFileOrder() throws Exception {
+		StringBuilder json = new StringBuilder("[\n");
+		for (int i = 1; i <= 200; i++) {
+			json.append(i > 1 ? ",\n" : "")
+					.append("  {\"id\": ").append(i)
+					.append(", \"name\": \"Proveedor ").append(i).append(" \\\"},{\\\" [x]\"")
+					.append(", \"companyName\": \"Compañía ").append(i).append(", S.A.\"")
+					.append(", \"address\": \"Calle {").append(i).append("}, Col. Centro\"}");
+		}
+		Files.writeString(tempDir.resolve("bd.json"), json.append("\n]").toString(), StandardCharsets.UTF_8);
+
+		DatabaseProperties sequential = properties(PersistenceMode.SNAPSHOT);
+		sequential.getLoad().setParallelism(1);
+		DatabaseProperties parallel = properties(PersistenceMode.SNAPSHOT);
+		parallel.getLoad().setParallelism(4);
+		parallel.getLoad().setMinChunkSize(DataSize.ofBytes(64));
+
+		List<Provider> expected = new JsonDatabase(sequential).findAll();
+		JsonDatabase database = new JsonDatabase(parallel);
+
+		assertThat(expected).hasSize(200);
+		assertThat(database.findAll()).containsExactlyElementsOf(expected);
+		assertThat(database.findAll().get(0).getName()).isEqualTo("Proveedor 1 \"},{\" [x]");
+		assertThat(database.findByName("proveedor 150 \"},{\" [x]")).get().extracting(Provider::getId).isEqualTo(150L);
+		assertThat(database.search("compania 123", 0, 10).totalHits()).isEqualTo(1);
+		assertThat(database.save(provider("Proveedor Nuevo")).getId()).isEqualTo(201L);
+	}
+
+	private DatabaseProperties properties(PersistenceMode mode) {
+		DatabaseProperties properties = new DatabaseProperties();
+		properties.setFilePath(tempDir.resolve("bd.json").toString());
+		properties.setPersistenceMode(mode);
+		return properties;
+	}
+
+	private static Provider provider(String name) {
+		return Provider.builder()
+				.name(name)
+				.companyName(name + " S.A. de C.V.")
+				.address("Calle Ficticia 123, Colonia Centro")
+				.build();
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.PersistenceMode;
+import com.gapsi.ecommerce.model.Provider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileDatabaseTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void writesSurviveReopen() {
+		DatabaseProperties properties = properties();
+
+		MappedFileDatabase database = new MappedFileDatabase(properties);
+		Provider first = database.save(provider("Proveedor Uno"));
+		Provider second = database.save(provider("Proveedor Dos"));
+		Provider third = database.save(provider("Proveedor Tres"));
+		database.deleteById(second.getId());
+		database.update(Provider.builder().id(first.getId()).name("Proveedor Uno")
+				.companyName("Uno").address("Calle 1").build());
+		database.close();
+
+		MappedFileDatabase reopened = new MappedFileDatabase(properties);
+		assertThat(reopened.findAll()).extracting(Provider::getName)
+				.containsExactly("Proveedor Uno", "Proveedor Tres");
+		assertThat(reopened.findById(first.getId())).get()
+				.extracting(Provider::getCompanyName).isEqualTo("Uno");
+		assertThat(reopened.findById(second.getId())).isEmpty();
+		assertThat(reopened.findByName("proveedor tres")).get()
+				.extracting(Provider::getId).isEqualTo(third.getId());
+		// El último ID persiste en el encabezado: un ID eliminado no se reutiliza al reabrir
+		assertThat(reopened.save(provider("Proveedor Cuatro")).getId()).isEqualTo(4L);
+		reopened.close();
+	}
+
+	@Test
+	void updateThatOutgrowsItsRecordIsRelocated() {
+		DatabaseProperties properties = properties();
+
+		MappedFileDatabase database = new MappedFileDatabase(properties);
+		Provider first = database.save(provider("Proveedor Uno"));
+		Provider second = database.save(provider("Proveedor Dos"));
+		String longAddress = "Avenida ".repeat(100);
+		database.update(Provider.builder().id(first.getId()).name("Proveedor Uno Renombrado")
+				.companyName(first.getCompanyName()).address(longAddress).build());
+
+		assertThat(database.findAll()).extracting(Provider::getId).containsExactly(first.getId(), second.getId());
+		assertThat(database.existsByName("Proveedor Uno")).isFalse();
+		assertThat(database.findByName("proveedor uno renombrado")).get()
+				.extracting(Provider::getAddress).isEqualTo(longAddress);
+		assertThat(database.search("renombrado", 0, 10).totalHits()).isEqualTo(1);
+		database.close();
+
+		MappedFileDatabase reopened = new MappedFileDatabase(properties);
+		assertThat(reopened.count()).isEqualTo(2);
+		assertThat(reopened.findById(first.getId())).get()
+				.extracting(Provider::getAddress).isEqualTo(longAddress);
+		reopened.close();
+	}
+
+	@Test
+	void fileGrowsBeyondInitialMapping() {
+		DatabaseProperties properties = properties();
+		properties.getMapped().setInitialSize(64);
+
+		MappedFileDatabase database = new MappedFileDatabase(properties);
+		List<Optional<Provider>> saved = database.insertAllIfAbsent(List.of(
+				provider("Proveedor Uno"), provider("Proveedor Dos"), provider("proveedor uno")));
+		for (int i = 0; i < 200; i++) {
+			database.save(provider("Proveedor " + i));
+		}
+
+		assertThat(saved).extracting(Optional::isPresent).containsExactly(true, true, false);
+		assertThat(database.count()).isEqualTo(202);
+		database.close();
+		assertThat(new MappedFileDatabase(properties).findAfter(200L, 10))
+				.extracting(Provider::getName).containsExactly("Proveedor 198", "Proveedor 199");
+	}
+
+	@Test
+	void corruptedRecordIsDiscardedOnStartup() throws Exception {
+		DatabaseProperties properties = properties();
+
+		MappedFileDatabase database = new MappedFileDatabase(properties);
+		database.save(provider("Proveedor Uno"));
+		database.save(provider("Proveedor Dos"));
+		database.close();
+
+		// Altera un byte del contenido del primer registro (encabezado de 32 + registro de 24)
+		Path file = tempDir.resolve("bd.dat");
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[32 + 24 + 4] ^= 0x7F;
+		Files.write(file, bytes);
+
+		MappedFileDatabase recovered = new MappedFileDatabase(properties);
+		assertThat(recovered.findAll()).extracting(Provider::getName).containsExactly("Proveedor Dos");
+		recovered.close();
+	}
+
+	@Test
+	void existingJsonDatabaseIsMigratedOnce() {
+		DatabaseProperties properties = properties();
+		properties.setPersistenceMode(PersistenceMode.JOURNAL);
+
+		JsonDatabase json = new JsonDatabase(properties);
+		json.save(provider("Proveedor Uno"));
+		json.save(provider("Proveedor Dos"));
+		json.close();
+
+		MappedFileDatabase database = new MappedFileDatabase(properties);
+		assertThat(database.findAll()).extracting(Provider::getName)
+				.containsExactly("Proveedor Uno", "Proveedor Dos");
+		assertThat(database.save(provider("Proveedor Tres")).getId()).isEqualTo(3L);
+		database.close();
+
+		// bd.json se conserva como respaldo y no se vuelve a migrar
+		assertThat(Files.exists(tempDir.resolve("bd.json"))).isTrue();
+		assertThat(new MappedFileDatabase(properties).count()).isEqualTo(3);
+	}
+
+	private DatabaseProperties properties() {
+		DatabaseProperties properties = new DatabaseProperties();
+		properties.setFilePath(tempDir.resolve("bd.json").toString());
+		return properties;
+	}
+
+	private static Provider provider(String name) {
+		return Provider.builder()
+				.name(name)
+				.companyName(name + " S.A. de C.V.")
+				.address("Calle Ficticia 123, Colonia Centro")
+				.build();
+	}
+
+}
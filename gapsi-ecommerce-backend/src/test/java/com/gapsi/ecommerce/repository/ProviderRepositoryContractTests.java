@@ -0,0 +1,461 @@
+package com.gapsi.ecommerce.repository;
+
+import com.gapsi.ecommerce.config.DatabaseProperties;
+import com.gapsi.ecommerce.config.DatabaseProperties.StorageEngine;
+import com.gapsi.ecommerce.model.Provider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * Contrato común de ProviderRepository: las mismas pruebas se ejecutan sobre cada motor
+ */
+class ProviderRepositoryContractTests {
+
+	@TempDir
+	Path tempDir;
+
+	private final List<ProviderRepository> opened = new ArrayList<>();
+
+	@AfterEach
+	void closeRepositories() {
+		opened.forEach(ProviderRepository::close);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void insertedProvidersAreFoundByIdAndNameInIdOrder(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+
+		Provider first = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		Provider second = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+
+		assertThat(second.getId()).isGreaterThan(first.getId());
+		assertThat(repository.count()).isEqualTo(2);
+		assertThat(repository.findAll()).extracting(Provider::getName).containsExactly("Proveedor Uno", "Proveedor Dos");
+		assertThat(repository.findById(first.getId())).get().usingRecursiveComparison().isEqualTo(first);
+		assertThat(repository.findById(999L)).isEmpty();
+		assertThat(repository.findById(null)).isEmpty();
+		assertThat(repository.findByName("PROVEEDOR DOS")).get().extracting(Provider::getId).isEqualTo(second.getId());
+		assertThat(repository.existsByName("proveedor uno")).isTrue();
+		assertThat(repository.existsByName("Proveedor Tres")).isFalse();
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void findAllByIdReturnsExistingProvidersInRequestOrder(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider first = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		Provider second = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+		Provider third = repository.insertIfAbsent(provider("Proveedor Tres")).orElseThrow();
+		repository.deleteById(second.getId());
+
+		assertThat(repository.findAllById(List.of(third.getId(), 999L, second.getId(), first.getId())))
+				.extracting(Provider::getName)
+				.containsExactly("Proveedor Tres", "Proveedor Uno");
+		assertThat(repository.findAllById(List.of())).isEmpty();
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void findAllByIdSeesABatchDeleteCompleteOrNotAtAll(StorageEngine engine) throws Exception {
+		ProviderRepository repository = open(engine);
+		int groups = 30;
+		int groupSize = 20;
+		List<List<Long>> idGroups = new ArrayList<>();
+		for (int g = 0; g < groups; g++) {
+			List<Provider> batch = new ArrayList<>();
+			for (int i = 0; i < groupSize; i++) {
+				batch.add(provider("Proveedor " + g + "-" + i));
+			}
+			idGroups.add(repository.insertAllIfAbsent(batch).stream().map(saved -> saved.orElseThrow().getId()).toList());
+		}
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> deleter = executor.submit(() -> idGroups.forEach(repository::deleteAllById));
+			while (!deleter.isDone()) {
+				for (List<Long> ids : idGroups) {
+					assertThat(repository.findAllById(ids).size()).isIn(0, groupSize);
+				}
+			}
+			deleter.get();
+			assertThat(repository.count()).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void insertIfAbsentRejectsNamesThatDifferOnlyInCase(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+
+		assertThat(repository.insertIfAbsent(provider("Proveedor Uno"))).isPresent();
+		assertThat(repository.insertIfAbsent(provider("PROVEEDOR UNO"))).isEmpty();
+		assertThat(repository.count()).isEqualTo(1);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void insertAllIfAbsentSkipsExistingAndRepeatedNames(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		repository.insertIfAbsent(provider("Proveedor Uno"));
+
+		List<Optional<Provider>> results = repository.insertAllIfAbsent(List.of(
+				provider("proveedor uno"), provider("Proveedor Dos"), provider("Proveedor Tres"), provider("PROVEEDOR DOS")));
+
+		assertThat(results).extracting(Optional::isPresent).containsExactly(false, true, true, false);
+		assertThat(repository.findAll()).extracting(Provider::getName)
+				.containsExactly("Proveedor Uno", "Proveedor Dos", "Proveedor Tres");
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void updateReplacesDataAndNameIndex(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider saved = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+
+		repository.update(Provider.builder().id(saved.getId()).name("Proveedor Renombrado")
+				.companyName("Nueva Empresa S.A.").address("Avenida Reforma 500").build());
+
+		assertThat(repository.findById(saved.getId())).get()
+				.extracting(Provider::getName, Provider::getCompanyName, Provider::getAddress)
+				.containsExactly("Proveedor Renombrado", "Nueva Empresa S.A.", "Avenida Reforma 500");
+		assertThat(repository.existsByName("Proveedor Uno")).isFalse();
+		assertThat(repository.findByName("proveedor renombrado")).isPresent();
+		assertThat(repository.count()).isEqualTo(1);
+		assertThatThrownBy(() -> repository.update(Provider.builder().id(999L).name("Inexistente").build()))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessageContaining("999");
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void conditionalUpdateChecksRecordVersionAndNameUniqueness(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider saved = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		repository.insertIfAbsent(provider("Proveedor Dos"));
+		assertThat(saved.getVersion()).isZero();
+
+		ProviderUpdateResult updated = repository.update(Provider.builder().id(saved.getId()).name("Proveedor Uno")
+				.companyName("Empresa Actualizada S.A.").address(saved.getAddress()).build(), 0L);
+		assertThat(updated.status()).isEqualTo(ProviderUpdateResult.Status.UPDATED);
+		assertThat(updated.provider().getVersion()).isEqualTo(1);
+		assertThat(repository.findById(saved.getId())).get().extracting(Provider::getVersion).isEqualTo(1L);
+
+		ProviderUpdateResult stale = repository.update(Provider.builder().id(saved.getId()).name("Proveedor Uno")
+				.companyName("Empresa Obsoleta S.A.").address(saved.getAddress()).build(), 0L);
+		assertThat(stale.status()).isEqualTo(ProviderUpdateResult.Status.VERSION_MISMATCH);
+		assertThat(stale.provider().getCompanyName()).isEqualTo("Empresa Actualizada S.A.");
+
+		ProviderUpdateResult clash = repository.update(Provider.builder().id(saved.getId()).name("PROVEEDOR DOS")
+				.companyName("Empresa Actualizada S.A.").address(saved.getAddress()).build(), 1L);
+		assertThat(clash.status()).isEqualTo(ProviderUpdateResult.Status.NAME_TAKEN);
+		assertThat(repository.findByName("proveedor uno")).get().extracting(Provider::getVersion).isEqualTo(1L);
+		assertThat(repository.findByName("proveedor dos")).get().extracting(Provider::getId).isNotEqualTo(saved.getId());
+
+		assertThat(repository.update(Provider.builder().id(999L).name("Inexistente").build(), null).status())
+				.isEqualTo(ProviderUpdateResult.Status.NOT_FOUND);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void concurrentConditionalUpdatesAdmitOneWinnerPerVersion(StorageEngine engine) throws Exception {
+		ProviderRepository repository = open(engine);
+		Provider saved = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		int threads = 8;
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<ProviderUpdateResult.Status>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				String companyName = "Empresa " + t;
+				results.add(executor.submit(() -> {
+					start.await();
+					return repository.update(Provider.builder().id(saved.getId()).name(saved.getName())
+							.companyName(companyName).address(saved.getAddress()).build(), 0L).status();
+				}));
+			}
+
+			int winners = 0;
+			for (Future<ProviderUpdateResult.Status> result : results) {
+				if (result.get() == ProviderUpdateResult.Status.UPDATED) {
+					winners++;
+				}
+			}
+			assertThat(winners).isEqualTo(1);
+			assertThat(repository.findById(saved.getId())).get().extracting(Provider::getVersion).isEqualTo(1L);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void sameNameUpdatesNeverFreeTheNameForConcurrentInserts(StorageEngine engine) throws Exception {
+		ProviderRepository repository = open(engine);
+		Provider saved = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		int inserters = 4;
+		int updates = 100;
+		CyclicBarrier start = new CyclicBarrier(inserters + 1);
+		AtomicBoolean updating = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(inserters + 1);
+		try {
+			Future<?> updater = executor.submit(() -> {
+				start.await();
+				try {
+					for (int i = 0; i < updates; i++) {
+						repository.update(Provider.builder().id(saved.getId()).name(saved.getName())
+								.companyName("Empresa " + i).address(saved.getAddress()).build());
+					}
+				} finally {
+					updating.set(false);
+				}
+				return null;
+			});
+			List<Future<Integer>> wins = new ArrayList<>();
+			for (int t = 0; t < inserters; t++) {
+				wins.add(executor.submit(() -> {
+					start.await();
+					int won = 0;
+					while (updating.get()) {
+						if (repository.insertIfAbsent(provider("PROVEEDOR UNO")).isPresent()) {
+							won++;
+						}
+					}
+					return won;
+				}));
+			}
+
+			updater.get();
+			for (Future<Integer> win : wins) {
+				assertThat(win.get()).isZero();
+			}
+			assertThat(repository.count()).isEqualTo(1);
+			assertThat(repository.findByName("Proveedor Uno")).get().extracting(Provider::getId).isEqualTo(saved.getId());
+			assertThat(repository.findById(saved.getId())).get().extracting(Provider::getVersion).isEqualTo((long) updates);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void deleteRemovesProviderAndDoesNotReuseItsId(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		repository.insertIfAbsent(provider("Proveedor Uno"));
+		Provider last = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+
+		assertThat(repository.deleteById(last.getId())).isTrue();
+		assertThat(repository.deleteById(last.getId())).isFalse();
+		assertThat(repository.findById(last.getId())).isEmpty();
+		assertThat(repository.existsByName("Proveedor Dos")).isFalse();
+		assertThat(repository.search("dos", 0, 10).totalHits()).isZero();
+		assertThat(repository.count()).isEqualTo(1);
+		assertThat(repository.insertIfAbsent(provider("Proveedor Tres")).orElseThrow().getId()).isGreaterThan(last.getId());
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void deleteAllByIdReportsEachIdAndUpdatesIndexes(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider first = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		Provider second = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+		Provider kept = repository.insertIfAbsent(provider("Proveedor Tres")).orElseThrow();
+		long before = repository.version();
+
+		List<Boolean> results = repository.deleteAllById(List.of(second.getId(), 999L, first.getId(), second.getId()));
+
+		assertThat(results).containsExactly(true, false, true, false);
+		assertThat(repository.findAll()).extracting(Provider::getId).containsExactly(kept.getId());
+		assertThat(repository.existsByName("Proveedor Uno")).isFalse();
+		assertThat(repository.search("proveedor", 0, 10).totalHits()).isEqualTo(1);
+		assertThat(repository.version()).isGreaterThan(before);
+		assertThat(repository.deleteAllById(List.of())).isEmpty();
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void findAfterAndStreamAllFollowIdOrder(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		for (int i = 1; i <= 5; i++) {
+			repository.insertIfAbsent(provider("Proveedor " + i));
+		}
+
+		assertThat(repository.findAfter(null, 2)).extracting(Provider::getName).containsExactly("Proveedor 1", "Proveedor 2");
+		assertThat(repository.findAfter(2L, 10)).extracting(Provider::getId).containsExactly(3L, 4L, 5L);
+		assertThat(repository.findAfter(5L, 10)).isEmpty();
+		try (Stream<Provider> providers = repository.streamAll()) {
+			assertThat(providers.map(Provider::getId)).containsExactly(1L, 2L, 3L, 4L, 5L);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void searchFindsPrefixesAndFollowsUpdates(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider hardware = repository.insertIfAbsent(provider("Ferretería Monterrey")).orElseThrow();
+		repository.insertIfAbsent(provider("Papelería Puebla"));
+
+		ProviderSearchResult result = repository.search("ferre", 0, 10);
+		assertThat(result.totalHits()).isEqualTo(1);
+		assertThat(result.providers()).extracting(Provider::getId).containsExactly(hardware.getId());
+
+		repository.update(Provider.builder().id(hardware.getId()).name("Aceros Monterrey")
+				.companyName(hardware.getCompanyName()).address(hardware.getAddress()).build());
+		assertThat(repository.search("aceros", 0, 10).providers()).extracting(Provider::getName)
+				.containsExactly("Aceros Monterrey");
+		assertThat(repository.search("papeleria", 0, 10).totalHits()).isEqualTo(1);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void searchCountsEveryPrefixExpansionAndPagesThroughAllHits(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		List<Provider> batch = new ArrayList<>();
+		for (int i = 0; i < 150; i++) {
+			batch.add(provider("Proveedor zeta" + i));
+		}
+		repository.insertAllIfAbsent(batch);
+
+		ProviderSearchResult first = repository.search("zeta", 0, 100);
+		ProviderSearchResult second = repository.search("zeta", 100, 100);
+		assertThat(first.totalHits()).isEqualTo(150);
+		assertThat(Stream.concat(first.providers().stream(), second.providers().stream()).map(Provider::getId).distinct())
+				.hasSize(150);
+		assertThat(repository.search("z", 0, 10).totalHits()).isZero();
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void versionAdvancesOnWritesButNotOnReads(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider saved = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		long afterInsert = repository.version();
+
+		repository.findAll();
+		repository.findById(saved.getId());
+		repository.search("proveedor", 0, 10);
+		repository.insertIfAbsent(provider("PROVEEDOR UNO"));
+		assertThat(repository.version()).isEqualTo(afterInsert);
+
+		repository.update(Provider.builder().id(saved.getId()).name("Proveedor Uno")
+				.companyName("Otra Empresa").address(saved.getAddress()).build());
+		long afterUpdate = repository.version();
+		assertThat(afterUpdate).isGreaterThan(afterInsert);
+
+		repository.deleteById(saved.getId());
+		assertThat(repository.version()).isGreaterThan(afterUpdate);
+	}
+
+	@ParameterizedTest
+	@EnumSource(StorageEngine.class)
+	void concurrentInsertIfAbsentAdmitsOneWinnerPerName(StorageEngine engine) throws Exception {
+		ProviderRepository repository = open(engine);
+		int threads = 8;
+		int names = 50;
+		CyclicBarrier start = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> wins = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				wins.add(executor.submit(() -> {
+					start.await();
+					int won = 0;
+					for (int i = 0; i < names; i++) {
+						if (repository.insertIfAbsent(provider("Proveedor " + i)).isPresent()) {
+							won++;
+						}
+					}
+					return won;
+				}));
+			}
+
+			int total = 0;
+			for (Future<Integer> win : wins) {
+				total += win.get();
+			}
+			assertThat(total).isEqualTo(names);
+			assertThat(repository.count()).isEqualTo(names);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = StorageEngine.class, mode = EnumSource.Mode.EXCLUDE, names = "MEMORY")
+	void writesSurviveReopen(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		Provider kept = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		Provider deleted = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+		Provider bulkDeleted = repository.insertIfAbsent(provider("Proveedor Tres")).orElseThrow();
+		repository.update(Provider.builder().id(kept.getId()).name(kept.getName())
+				.companyName("Empresa Actualizada S.A.").address(kept.getAddress()).build());
+		repository.deleteById(deleted.getId());
+		repository.deleteAllById(List.of(bulkDeleted.getId()));
+		repository.close();
+		opened.remove(repository);
+
+		ProviderRepository reopened = open(engine);
+		assertThat(reopened.findAll()).extracting(Provider::getName, Provider::getCompanyName)
+				.containsExactly(tuple("Proveedor Uno", "Empresa Actualizada S.A."));
+		assertThat(reopened.findById(kept.getId())).get().extracting(Provider::getVersion).isEqualTo(1L);
+		assertThat(reopened.search("proveedor", 0, 10).totalHits()).isEqualTo(1);
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = StorageEngine.class, mode = EnumSource.Mode.EXCLUDE, names = "MEMORY")
+	void deletedHighestIdIsNotReusedAfterReopen(StorageEngine engine) {
+		ProviderRepository repository = open(engine);
+		repository.insertIfAbsent(provider("Proveedor Uno"));
+		Provider last = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+		repository.deleteById(last.getId());
+		repository.close();
+		opened.remove(repository);
+
+		// El ETag de un proveedor es su versión: un ID reutilizado validaría ETags del proveedor eliminado
+		ProviderRepository reopened = open(engine);
+		assertThat(reopened.insertIfAbsent(provider("Proveedor Tres")).orElseThrow().getId()).isGreaterThan(last.getId());
+	}
+
+	private ProviderRepository open(StorageEngine engine) {
+		DatabaseProperties properties = new DatabaseProperties();
+		properties.setEngine(engine);
+		properties.setFilePath(tempDir.resolve("bd.json").toString());
+
+		ProviderRepository repository = switch (engine) {
+			case JSON -> new JsonDatabase(properties);
+			case MAPPED -> new MappedFileDatabase(properties);
+			case MEMORY -> new InMemoryProviderRepository();
+			case H2 -> new H2ProviderRepository(properties);
+		};
+		opened.add(repository);
+		return repository;
+	}
+
+	private static Provider provider(String name) {
+		return Provider.builder()
+				.name(name)
+				.companyName(name + " S.A. de C.V.")
+				.address("Calle Ficticia 123, Colonia Centro")
+				.build();
+	}
+
+}
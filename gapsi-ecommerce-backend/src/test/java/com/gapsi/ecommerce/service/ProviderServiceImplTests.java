@@ -0,0 +1,244 @@
+package com.gapsi.ecommerce.service;
+
+import com.gapsi.ecommerce.dto.BulkDeleteItemResult;
+import com.gapsi.ecommerce.dto.BulkDeleteRequest;
+import com.gapsi.ecommerce.dto.BulkDeleteResponse;
+import com.gapsi.ecommerce.dto.BulkImportItemResult;
+import com.gapsi.ecommerce.dto.BulkImportResponse;
+import com.gapsi.ecommerce.dto.ProviderRequestDto;
+import com.gapsi.ecommerce.dto.ProviderResponseDto;
+import com.gapsi.ecommerce.exceptions.BatchTooLargeException;
+import com.gapsi.ecommerce.exceptions.DuplicateProviderException;
+import com.gapsi.ecommerce.exceptions.InvalidProviderException;
+import com.gapsi.ecommerce.exceptions.ProviderNotFoundException;
+import com.gapsi.ecommerce.exceptions.ProviderVersionMismatchException;
+import com.gapsi.ecommerce.mapper.ProviderMapper;
+import com.gapsi.ecommerce.model.Provider;
+import com.gapsi.ecommerce.repository.InMemoryProviderRepository;
+import com.gapsi.ecommerce.repository.ProviderRepository;
+import com.gapsi.ecommerce.repository.ProviderUpdateResult;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProviderServiceImplTests {
+
+	private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+	@AfterAll
+	static void closeValidatorFactory() {
+		validatorFactory.close();
+	}
+
+	@Test
+	void patchRetriesOnConcurrentModificationAndMergesOverTheLatestVersion() {
+		ProviderRepository repository = mock(ProviderRepository.class);
+		Provider first = stored(1L, "Proveedor Uno", "Calle Ficticia 123, Colonia Centro", 1);
+		Provider second = stored(1L, "Proveedor Uno", "Calle Concurrente 456, Colonia Norte", 2);
+		when(repository.findById(1L)).thenReturn(Optional.of(first), Optional.of(second));
+		when(repository.update(any(Provider.class), eq(1L))).thenReturn(ProviderUpdateResult.versionMismatch(second));
+		when(repository.update(any(Provider.class), eq(2L))).thenAnswer(invocation -> {
+			Provider updated = invocation.getArgument(0);
+			updated.setVersion(3);
+			return ProviderUpdateResult.updated(updated);
+		});
+
+		ProviderResponseDto result = service(repository).patchProvider(1L,
+				ProviderRequestDto.builder().companyName("Empresa Renombrada S.A.").build(), null);
+
+		assertThat(result.getVersion()).isEqualTo(3);
+		assertThat(result.getCompanyName()).isEqualTo("Empresa Renombrada S.A.");
+		// Los campos omitidos se toman de la versión releída, no de la primera lectura
+		assertThat(result.getAddress()).isEqualTo("Calle Concurrente 456, Colonia Norte");
+		verify(repository, times(2)).findById(1L);
+	}
+
+	@Test
+	void patchGivesUpWithPreconditionFailedAfterTheLastAttempt() {
+		ProviderRepository repository = mock(ProviderRepository.class);
+		Provider current = stored(1L, "Proveedor Uno", "Calle Ficticia 123, Colonia Centro", 5);
+		when(repository.findById(1L)).thenReturn(Optional.of(current));
+		when(repository.update(any(Provider.class), any())).thenReturn(ProviderUpdateResult.versionMismatch(current));
+
+		assertThatThrownBy(() -> service(repository).patchProvider(1L,
+				ProviderRequestDto.builder().address("Avenida Reforma 500, Centro").build(), null))
+				.isInstanceOf(ProviderVersionMismatchException.class)
+				.extracting("currentVersion").isEqualTo(5L);
+		verify(repository, times(3)).update(any(Provider.class), any());
+	}
+
+	@Test
+	void patchWithIfMatchNeverRetries() {
+		ProviderRepository repository = mock(ProviderRepository.class);
+		Provider read = stored(1L, "Proveedor Uno", "Calle Ficticia 123, Colonia Centro", 4);
+		Provider current = stored(1L, "Proveedor Uno", "Calle Ficticia 123, Colonia Centro", 5);
+		when(repository.findById(1L)).thenReturn(Optional.of(read));
+		when(repository.update(any(Provider.class), eq(4L))).thenReturn(ProviderUpdateResult.versionMismatch(current));
+
+		ProviderServiceImpl service = service(repository);
+		ProviderRequestDto changes = ProviderRequestDto.builder().address("Avenida Reforma 500, Centro").build();
+
+		// La versión esperada ya no es la vigente: 412 sin intentar la modificación
+		assertThatThrownBy(() -> service.patchProvider(1L, changes, 3L))
+				.isInstanceOf(ProviderVersionMismatchException.class);
+		verify(repository, never()).update(any(Provider.class), any());
+
+		// Otro cliente modifica entre la lectura y la escritura: 412 sin reintentar
+		assertThatThrownBy(() -> service.patchProvider(1L, changes, 4L))
+				.isInstanceOf(ProviderVersionMismatchException.class)
+				.extracting("currentVersion").isEqualTo(5L);
+		verify(repository, times(1)).update(any(Provider.class), any());
+	}
+
+	@Test
+	void patchMapsMissingProvidersInvalidResultsAndTakenNames() {
+		ProviderRepository repository = mock(ProviderRepository.class);
+		Provider current = stored(1L, "Proveedor Uno", "Calle Ficticia 123, Colonia Centro", 1);
+		when(repository.findById(1L)).thenReturn(Optional.of(current));
+		when(repository.findById(2L)).thenReturn(Optional.empty());
+		when(repository.update(any(Provider.class), eq(1L))).thenReturn(ProviderUpdateResult.nameTaken(current));
+		ProviderServiceImpl service = service(repository);
+
+		assertThatThrownBy(() -> service.patchProvider(2L, ProviderRequestDto.builder().name("Otro").build(), null))
+				.isInstanceOf(ProviderNotFoundException.class);
+		assertThatThrownBy(() -> service.patchProvider(1L, ProviderRequestDto.builder().address("corta").build(), null))
+				.isInstanceOf(InvalidProviderException.class)
+				.extracting("errors").asInstanceOf(MAP).containsKey("address");
+		assertThatThrownBy(() -> service.patchProvider(1L, ProviderRequestDto.builder().name("Proveedor Dos").build(), null))
+				.isInstanceOf(DuplicateProviderException.class);
+		verify(repository, times(1)).update(any(Provider.class), any());
+	}
+
+	@Test
+	void importReportsCreatedInvalidAndDuplicateItemsInBatchOrder() {
+		ProviderRepository repository = new InMemoryProviderRepository();
+		ProviderServiceImpl service = service(repository);
+		repository.insertIfAbsent(provider("Proveedor Existente"));
+
+		List<ProviderRequestDto> requests = new ArrayList<>();
+		requests.add(request("Proveedor Nuevo"));
+		requests.add(ProviderRequestDto.builder().name("Proveedor Sin Datos").build());
+		requests.add(null);
+		requests.add(request("PROVEEDOR EXISTENTE"));
+		requests.add(request("proveedor nuevo"));
+
+		BulkImportResponse response = service.importProviders(requests);
+
+		assertThat(response.getTotalItems()).isEqualTo(5);
+		assertThat(response.getCreated()).isEqualTo(1);
+		assertThat(response.getRejected()).isEqualTo(4);
+		assertThat(response.getResults()).extracting(BulkImportItemResult::getIndex, BulkImportItemResult::getStatus)
+				.containsExactly(
+						tuple(0, BulkImportItemResult.Status.CREATED),
+						tuple(1, BulkImportItemResult.Status.INVALID),
+						tuple(2, BulkImportItemResult.Status.INVALID),
+						tuple(3, BulkImportItemResult.Status.DUPLICATE),
+						tuple(4, BulkImportItemResult.Status.DUPLICATE));
+		assertThat(response.getResults().get(0).getId()).isNotNull();
+		assertThat(response.getResults().get(1).getErrors()).containsKeys("companyName", "address");
+		assertThat(repository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void importRejectsBatchesOverTheLimitBeforeValidating() {
+		ProviderRepository repository = new InMemoryProviderRepository();
+		ProviderServiceImpl service = service(repository);
+
+		assertThatThrownBy(() -> service.importProviders(Collections.nCopies(100_001, null)))
+				.isInstanceOf(BatchTooLargeException.class);
+		assertThat(repository.count()).isZero();
+	}
+
+	@Test
+	void deleteByIdsReportsDeletedAndNotFoundPerId() {
+		ProviderRepository repository = new InMemoryProviderRepository();
+		ProviderServiceImpl service = service(repository);
+		Provider first = repository.insertIfAbsent(provider("Proveedor Uno")).orElseThrow();
+		Provider second = repository.insertIfAbsent(provider("Proveedor Dos")).orElseThrow();
+
+		BulkDeleteResponse response = service.deleteProviders(BulkDeleteRequest.builder()
+				.ids(List.of(first.getId(), 999L, first.getId()))
+				.build());
+
+		assertThat(response.getTotalItems()).isEqualTo(3);
+		assertThat(response.getDeleted()).isEqualTo(1);
+		assertThat(response.getNotFound()).isEqualTo(2);
+		// Un ID repetido se reporta como no encontrado: ya se eliminó antes en el mismo lote
+		assertThat(response.getResults()).extracting(BulkDeleteItemResult::getId, BulkDeleteItemResult::getStatus)
+				.containsExactly(
+						tuple(first.getId(), BulkDeleteItemResult.Status.DELETED),
+						tuple(999L, BulkDeleteItemResult.Status.NOT_FOUND),
+						tuple(first.getId(), BulkDeleteItemResult.Status.NOT_FOUND));
+		assertThat(repository.findAll()).containsExactly(second);
+	}
+
+	@Test
+	void deleteByFilterRemovesEveryMatchOfAPrefixWithManyExpansions() {
+		ProviderRepository repository = new InMemoryProviderRepository();
+		ProviderServiceImpl service = service(repository);
+		// Cada nombre aporta un término distinto con el prefijo "alfa"
+		for (int i = 1; i <= 100; i++) {
+			repository.insertIfAbsent(provider(String.format("Proveedor Alfa%03d", i)));
+		}
+		Provider other = repository.insertIfAbsent(provider("Proveedor Beta")).orElseThrow();
+
+		BulkDeleteResponse response = service.deleteProviders(BulkDeleteRequest.builder().query("alfa").build());
+
+		assertThat(response.getTotalItems()).isEqualTo(100);
+		assertThat(response.getDeleted()).isEqualTo(100);
+		assertThat(response.getResults()).extracting(BulkDeleteItemResult::getStatus)
+				.containsOnly(BulkDeleteItemResult.Status.DELETED);
+		assertThat(repository.findAll()).containsExactly(other);
+	}
+
+	private static ProviderServiceImpl service(ProviderRepository repository) {
+		Validator validator = validatorFactory.getValidator();
+		return new ProviderServiceImpl(repository, new ProviderMapper(), validator);
+	}
+
+	private static Provider stored(Long id, String name, String address, long version) {
+		return Provider.builder()
+				.id(id)
+				.name(name)
+				.companyName(name + " S.A. de C.V.")
+				.address(address)
+				.version(version)
+				.build();
+	}
+
+	private static ProviderRequestDto request(String name) {
+		return ProviderRequestDto.builder()
+				.name(name)
+				.companyName(name + " S.A. de C.V.")
+				.address("Calle Ficticia 123, Colonia Centro")
+				.build();
+	}
+
+	private static Provider provider(String name) {
+		return Provider.builder()
+				.name(name)
+				.companyName("Empresa S.A. de C.V.")
+				.address("Calle Ficticia 123, Colonia Centro")
+				.build();
+	}
+
+}
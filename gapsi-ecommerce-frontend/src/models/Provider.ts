@@ -4,6 +4,7 @@ export interface Provider {
   name: string;
   companyName: string;
   address: string;
+  version: number;
 }
 
 // DTO para crear/actualizar proveedores
@@ -34,6 +35,28 @@ export interface PagedProviderResponse {
   last: boolean;
 }
 
+// Respuesta paginada por cursor (keyset) para virtual scroll
+export interface CursorProviderResponse {
+  items: Provider[];
+  nextCursor: number | null;
+  hasNext: boolean;
+  limit: number;
+}
+
+// Respuesta de la consulta de varios proveedores por ID
+export interface ProviderBatchGetResponse {
+  items: Provider[];
+  missing: number[];
+}
+
+// Resultado de la eliminación masiva de proveedores
+export interface BulkDeleteResponse {
+  totalItems: number;
+  deleted: number;
+  notFound: number;
+  results: { id: number; status: 'DELETED' | 'NOT_FOUND' }[];
+}
+
 // Respuesta de bienvenida
 export interface WelcomeResponse {
   welcomeMessage: string;
@@ -1,8 +1,11 @@
 import { api } from './api';
 import type {
+  BulkDeleteResponse,
   ProviderFormData,
   ApiResponse,
   PagedProviderResponse,
+  CursorProviderResponse,
+  ProviderBatchGetResponse,
   Provider
 } from '../models/Provider';
 
@@ -18,6 +21,18 @@ export const providerService = {
     return response.data.data;
   },
 
+  /**
+   * Obtiene proveedores por cursor (keyset), pensado para virtual scroll
+   * GET /api/v1/providers?after=10&limit=50
+   */
+  getByCursor: async (after: number | null = null, limit: number = 50): Promise<CursorProviderResponse> => {
+    const cursor = after !== null ? `&after=${after}` : '';
+    const response = await api.get<ApiResponse<CursorProviderResponse>>(
+      `/v1/providers?limit=${limit}${cursor}`
+    );
+    return response.data.data;
+  },
+
   /**
    * Obtiene un proveedor por ID
    * GET /api/v1/providers/{id}
@@ -27,6 +42,15 @@ export const providerService = {
     return response.data.data;
   },
 
+  /**
+   * Obtiene varios proveedores por ID en una sola petición (máximo 1000)
+   * POST /api/v1/providers/batch-get
+   */
+  getByIds: async (ids: number[]): Promise<ProviderBatchGetResponse> => {
+    const response = await api.post<ApiResponse<ProviderBatchGetResponse>>('/v1/providers/batch-get', { ids });
+    return response.data.data;
+  },
+
   /**
    * Crea un nuevo proveedor
    * POST /api/v1/providers
@@ -45,8 +69,40 @@ export const providerService = {
   },
 
   /**
-   * NOTA: El backend NO tiene endpoint PUT para actualizar
-   * Por ahora, esta funcionalidad no está disponible
-   * Se debe agregar en el backend: PUT /api/v1/providers/{id}
+   * Elimina un lote de proveedores por ID con una sola escritura en el backend
+   * POST /api/v1/providers/bulk-delete
+   */
+  deleteMany: async (ids: number[]): Promise<BulkDeleteResponse> => {
+    const response = await api.post<ApiResponse<BulkDeleteResponse>>('/v1/providers/bulk-delete', { ids });
+    return response.data.data;
+  },
+
+  /**
+   * Reemplaza los datos de un proveedor
+   * PUT /api/v1/providers/{id}
+   * Con la versión leída, el backend responde 412 si otro usuario lo modificó entretanto
+   */
+  update: async (id: number, provider: ProviderFormData, version?: number): Promise<Provider> => {
+    const response = await api.put<ApiResponse<Provider>>(`/v1/providers/${id}`, provider, {
+      headers: ifMatch(version)
+    });
+    return response.data.data;
+  },
+
+  /**
+   * Modifica solo los campos enviados de un proveedor
+   * PATCH /api/v1/providers/{id}
    */
+  patch: async (id: number, changes: Partial<ProviderFormData>, version?: number): Promise<Provider> => {
+    const response = await api.patch<ApiResponse<Provider>>(`/v1/providers/${id}`, changes, {
+      headers: ifMatch(version)
+    });
+    return response.data.data;
+  },
 };
+
+/**
+ * Encabezado If-Match con la versión del proveedor; sin versión la modificación es incondicional
+ */
+const ifMatch = (version?: number): Record<string, string> =>
+  version !== undefined ? { 'If-Match': `"${version}"` } : {};